@@ -0,0 +1,37 @@
+package br.com.desafio_votacao;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Repositórios em memória para os benchmarks: apenas os métodos informados são implementados
+ * e os demais lançam {@link UnsupportedOperationException}. Diferente de um mock, a chamada
+ * custa apenas o despacho do proxy, sem registro de interações.
+ */
+public final class StubRepositorio {
+
+    private StubRepositorio() {
+    }
+
+    /**
+     * @param tipo interface do repositório
+     * @param metodos implementação de cada método, pelo nome, recebendo os argumentos da chamada
+     * @return o repositório
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T criar(Class<T> tipo, Map<String, Function<Object[], Object>> metodos) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo}, (proxy, metodo, args) -> {
+            Function<Object[], Object> implementacao = metodos.get(metodo.getName());
+            if (implementacao != null) {
+                return implementacao.apply(args);
+            }
+            return switch (metodo.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "StubRepositorio(" + tipo.getSimpleName() + ")";
+                default -> throw new UnsupportedOperationException(tipo.getSimpleName() + "." + metodo.getName());
+            };
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.desafio_votacao.dto;
+
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.model.Pauta;
+import br.com.desafio_votacao.model.Voto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões JSON/CSV das requisições e respostas mais frequentes: leitura do corpo do voto,
+ * escrita do voto registrado, de uma página de pautas e de uma linha da exportação de votos.
+ * O {@link ObjectMapper} é criado com os mesmos padrões do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    private ObjectReader leitorVotoDTO;
+    private ObjectWriter escritor;
+    private byte[] corpoVoto;
+    private Voto voto;
+    private PageResponse<Pauta> pagina;
+    private VotoExportacaoDTO exportacao;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        leitorVotoDTO = objectMapper.readerFor(VotoDTO.class);
+        escritor = objectMapper.writer();
+        corpoVoto = "{\"associadoId\":\"65a1b2c3d4e5f60718293a4b\",\"voto\":\"SIM\"}".getBytes(StandardCharsets.UTF_8);
+
+        LocalDateTime agora = LocalDateTime.now();
+        voto = new Voto("65a1b2c3d4e5f60718293a4c", "65a1b2c3d4e5f60718293a4d", "65a1b2c3d4e5f60718293a4b",
+            VotoOpcao.SIM, agora);
+
+        List<Pauta> pautas = new ArrayList<>(TAMANHO_PAGINA);
+        for (int i = 0; i < TAMANHO_PAGINA; i++) {
+            pautas.add(new Pauta(String.format("65a1b2c3d4e5f607182%05d", i), "Pauta " + i,
+                "Descrição da pauta " + i, agora, i % 2 == 0, agora, agora.plusMinutes(5)));
+        }
+        pagina = new PageResponse<>(pautas, 0, TAMANHO_PAGINA, 1_000, pautas.get(TAMANHO_PAGINA - 1).getId());
+
+        exportacao = new VotoExportacaoDTO(voto.getAssociadoId(), voto.getOpcaoVoto(), voto.getDataRegistro());
+    }
+
+    @Benchmark
+    public VotoDTO lerVotoDTO() throws Exception {
+        return leitorVotoDTO.readValue(corpoVoto);
+    }
+
+    @Benchmark
+    public byte[] escreverVoto() throws Exception {
+        return escritor.writeValueAsBytes(voto);
+    }
+
+    @Benchmark
+    public byte[] escreverPaginaPautas() throws Exception {
+        return escritor.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public String escreverLinhaCsv() {
+        return exportacao.paraLinhaCsv();
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.desafio_votacao.model;
+
+import br.com.desafio_votacao.cache.CpfStatusCache;
+import br.com.desafio_votacao.client.CachingCpfValidator;
+import br.com.desafio_votacao.client.CachingCpfValidator.PoliticaFallback;
+import br.com.desafio_votacao.client.CpfValidator;
+import br.com.desafio_votacao.client.CpfValidator.CpfStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de CPF executada a cada cadastro e a cada voto: análise do texto pelo {@link Cpf}
+ * e consulta ao {@link CachingCpfValidator} com o status já em cache (caso comum durante a sessão).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfBenchmark {
+
+    private String cpfDigitos;
+    private String cpfFormatado;
+    private String cpfInvalido;
+    private Cpf cpf;
+    private CpfValidator cpfValidator;
+
+    @Setup
+    public void setUp() {
+        cpfDigitos = "52998224725";
+        cpfFormatado = "529.982.247-25";
+        cpfInvalido = "52998224724";
+        cpf = Cpf.of(cpfDigitos);
+
+        CpfValidator servicoExterno = valor -> Mono.just(new CpfStatus(CpfValidator.ABLE_TO_VOTE));
+        CpfStatusCache cache = new CpfStatusCache(new SimpleMeterRegistry(), 1000, Duration.ofHours(1));
+        cpfValidator = new CachingCpfValidator(servicoExterno, cache, PoliticaFallback.NEGAR);
+        cpfValidator.validarCpf(cpf).block();
+    }
+
+    @Benchmark
+    public Cpf analisarDigitos() {
+        return Cpf.of(cpfDigitos);
+    }
+
+    @Benchmark
+    public Cpf analisarFormatado() {
+        return Cpf.of(cpfFormatado);
+    }
+
+    @Benchmark
+    public boolean rejeitarDigitoVerificador() {
+        return Cpf.valido(cpfInvalido);
+    }
+
+    @Benchmark
+    public String formatar() {
+        return cpf.toString();
+    }
+
+    @Benchmark
+    public CpfStatus validarCpfEmCache() {
+        return cpfValidator.validarCpf(cpf).block();
+    }
+}
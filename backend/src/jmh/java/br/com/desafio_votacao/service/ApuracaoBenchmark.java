@@ -0,0 +1,82 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.StubRepositorio;
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.model.Apuracao;
+import br.com.desafio_votacao.model.Voto;
+import br.com.desafio_votacao.repository.ApuracaoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Apuração incremental: contabilização de um voto (caminho de cada requisição), de um lote
+ * do tamanho usado pela votação em lote e pelo buffer write-behind, e leitura do resultado
+ * a partir do documento de apuração.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApuracaoBenchmark {
+
+    private static final String PAUTA_ID = "65a1b2c3d4e5f60718293a4d";
+
+    private ApuracaoService apuracaoService;
+    private List<Voto> voto;
+    private List<Voto> lote;
+
+    @Setup
+    public void setUp() {
+        ApuracaoRepository apuracaoRepository = StubRepositorio.criar(ApuracaoRepository.class, Map.of(
+            "findById", args -> Mono.just(new Apuracao(PAUTA_ID, 2, 1)),
+            "incrementar", args -> Mono.empty()));
+        apuracaoService = new ApuracaoService(apuracaoRepository, new ResultadoNotificador(2));
+
+        LocalDateTime agora = LocalDateTime.now();
+        lote = new ArrayList<>(VotoService.TAMANHO_LOTE);
+        for (int i = 0; i < VotoService.TAMANHO_LOTE; i++) {
+            lote.add(new Voto(null, PAUTA_ID, String.format("65a1b2c3d4e5f607182%05d", i),
+                i % 3 == 0 ? VotoOpcao.NAO : VotoOpcao.SIM, agora));
+        }
+        voto = List.of(lote.get(0));
+    }
+
+    @Benchmark
+    public void contabilizarVoto() {
+        apuracaoService.contabilizar(voto).block();
+    }
+
+    @Benchmark
+    public void contabilizarLote() {
+        apuracaoService.contabilizar(lote).block();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void contabilizarVotoConcorrente() {
+        apuracaoService.contabilizar(voto).block();
+    }
+
+    @Benchmark
+    public Map<String, Long> obterResultado() {
+        return apuracaoService.obterResultado(PAUTA_ID).block();
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.StubRepositorio;
+import br.com.desafio_votacao.cache.AssociadoCache;
+import br.com.desafio_votacao.cache.CpfStatusCache;
+import br.com.desafio_votacao.cache.SessaoRegistry;
+import br.com.desafio_votacao.cache.VotantesRegistry;
+import br.com.desafio_votacao.client.CachingCpfValidator;
+import br.com.desafio_votacao.client.CachingCpfValidator.PoliticaFallback;
+import br.com.desafio_votacao.client.CpfValidator;
+import br.com.desafio_votacao.client.CpfValidator.CpfStatus;
+import br.com.desafio_votacao.dto.VotoDTO;
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
+import br.com.desafio_votacao.model.Voto;
+import br.com.desafio_votacao.repository.ApuracaoRepository;
+import br.com.desafio_votacao.repository.AssociadoRepository;
+import br.com.desafio_votacao.repository.VotoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cadeia de operadores de {@link VotoService#registrarVoto} com repositórios em memória, de
+ * modo que a medição cobre apenas o código da aplicação: registro de votantes, cache de
+ * associados, registro de sessões, validador de CPF com status em cache, mapeamento do DTO
+ * para o voto e apuração incremental.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrarVotoBenchmark {
+
+    private static final String PAUTA_ID = "65a1b2c3d4e5f60718293a4d";
+    private static final String PAUTA_VOTADA_ID = "65a1b2c3d4e5f60718293a4e";
+    private static final String ASSOCIADO_ID = "65a1b2c3d4e5f60718293a4b";
+
+    private VotoService votoService;
+    private VotoDTO votoDTO;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        Associado associado = new Associado(Cpf.of("52998224725"));
+        associado.setId(ASSOCIADO_ID);
+        Voto votoExistente = new Voto(null, PAUTA_VOTADA_ID, ASSOCIADO_ID, VotoOpcao.NAO, LocalDateTime.now());
+
+        AssociadoRepository associadoRepository = StubRepositorio.criar(AssociadoRepository.class, Map.of(
+            "findById", args -> Mono.just(associado)));
+        VotoRepository votoRepository = StubRepositorio.criar(VotoRepository.class, Map.of(
+            "save", args -> Mono.just(args[0]),
+            "findAssociadoIdsByPautaId", args -> Flux.just(votoExistente)));
+        ApuracaoRepository apuracaoRepository = StubRepositorio.criar(ApuracaoRepository.class, Map.of(
+            "findById", args -> Mono.empty(),
+            "incrementar", args -> Mono.empty()));
+
+        CpfValidator servicoExterno = cpf -> Mono.just(new CpfStatus(CpfValidator.ABLE_TO_VOTE));
+        CpfValidator cpfValidator = new CachingCpfValidator(servicoExterno,
+            new CpfStatusCache(meterRegistry, 1000, Duration.ofHours(1)), PoliticaFallback.NEGAR);
+
+        AssociadoCache associadoCache = new AssociadoCache(associadoRepository, meterRegistry, 1000, Duration.ofHours(1));
+        AssociadoService associadoService = new AssociadoService(associadoRepository, cpfValidator, associadoCache, null);
+
+        SessaoRegistry sessaoRegistry = new SessaoRegistry();
+        sessaoRegistry.registrar(PAUTA_ID, LocalDateTime.now().plusDays(1));
+        sessaoRegistry.registrar(PAUTA_VOTADA_ID, LocalDateTime.now().plusDays(1));
+        PautaService pautaService = new PautaService();
+        ReflectionTestUtils.setField(pautaService, "sessaoRegistry", sessaoRegistry);
+
+        // Votantes carregados apenas para a pauta usada no caso de voto duplicado
+        VotantesRegistry votantesRegistry = new VotantesRegistry(votoRepository, meterRegistry, 1_000_000);
+        votantesRegistry.carregar(PAUTA_VOTADA_ID).block();
+
+        ApuracaoService apuracaoService = new ApuracaoService(apuracaoRepository, new ResultadoNotificador(2));
+
+        VotoWriteBehindBuffer votoWriteBehindBuffer = new VotoWriteBehindBuffer(votoRepository, apuracaoService,
+            meterRegistry, false, 500, Duration.ofMillis(5), 16384, 4);
+
+        votoService = new VotoService(votoRepository, pautaService, cpfValidator, associadoService,
+            votoWriteBehindBuffer, votantesRegistry, apuracaoService, new VotoMetricas(meterRegistry));
+        votoDTO = new VotoDTO(ASSOCIADO_ID, VotoOpcao.SIM);
+
+        // Aquece os caches de associado e de status de CPF
+        votoService.registrarVoto(PAUTA_ID, votoDTO).block();
+    }
+
+    @Benchmark
+    public Voto registrarVoto() {
+        return votoService.registrarVoto(PAUTA_ID, votoDTO).block();
+    }
+
+    @Benchmark
+    public Throwable rejeitarVotoDuplicado() {
+        return votoService.registrarVoto(PAUTA_VOTADA_ID, votoDTO)
+            .then(Mono.<Throwable>empty())
+            .onErrorResume(Mono::just)
+            .block();
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.desafio_votacao.cache;
+
+import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
+import br.com.desafio_votacao.repository.AssociadoRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Cache de associados por ID e por CPF, limitado por tamanho e por tempo de vida.
+ *
+ * Consultas simultâneas pela mesma chave compartilham uma única leitura no MongoDB.
+ * Associados inexistentes não são armazenados. As alterações feitas pelo
+ * {@link br.com.desafio_votacao.service.AssociadoService} invalidam as entradas
+ * afetadas; o TTL limita o tempo em que outras instâncias podem ver dados antigos.
+ */
+@Component
+public class AssociadoCache {
+
+    private final AssociadoRepository associadoRepository;
+    private final AsyncCache<String, Associado> porId;
+    private final AsyncCache<Cpf, Associado> porCpf;
+
+    public AssociadoCache(
+            AssociadoRepository associadoRepository,
+            MeterRegistry meterRegistry,
+            @Value("${votacao.cache.associados.tamanho-maximo:250000}") long tamanhoMaximo,
+            @Value("${votacao.cache.associados.ttl:10m}") Duration ttl) {
+        this.associadoRepository = associadoRepository;
+        this.porId = CaffeineCacheMetrics.monitor(meterRegistry, criarCache(tamanhoMaximo, ttl), "associados.id");
+        this.porCpf = CaffeineCacheMetrics.monitor(meterRegistry, criarCache(tamanhoMaximo, ttl), "associados.cpf");
+    }
+
+    private static <K> AsyncCache<K, Associado> criarCache(long tamanhoMaximo, Duration ttl) {
+        return Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .buildAsync();
+    }
+
+    /**
+     * Busca um associado pelo ID, consultando o MongoDB apenas em caso de falta no cache.
+     *
+     * @param id ID do associado
+     * @return Mono com o associado, ou vazio se não existir
+     */
+    public Mono<Associado> buscarPorId(String id) {
+        return Mono.fromFuture(() -> porId.get(id, (chave, executor) -> associadoRepository.findById(chave).toFuture()), true);
+    }
+
+    /**
+     * Busca um associado pelo CPF, consultando o MongoDB apenas em caso de falta no cache.
+     *
+     * @param cpf CPF do associado
+     * @return Mono com o associado, ou vazio se não existir
+     */
+    public Mono<Associado> buscarPorCpf(Cpf cpf) {
+        return Mono.fromFuture(() -> porCpf.get(cpf, (chave, executor) -> associadoRepository.findByCpf(chave).toFuture()), true);
+    }
+
+    /**
+     * Remove do cache as entradas do associado (por ID e pelos CPFs informados).
+     *
+     * @param id ID do associado
+     * @param cpfs CPFs associados ao registro (ex.: o antigo e o novo, numa alteração)
+     */
+    public void invalidar(String id, Cpf... cpfs) {
+        porId.synchronous().invalidate(id);
+        for (Cpf cpf : cpfs) {
+            if (cpf != null) {
+                porCpf.synchronous().invalidate(cpf);
+            }
+        }
+    }
+}
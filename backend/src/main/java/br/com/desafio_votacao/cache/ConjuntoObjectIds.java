@@ -0,0 +1,139 @@
+package br.com.desafio_votacao.cache;
+
+import java.util.HexFormat;
+
+/**
+ * Conjunto compacto de ObjectIds em formato hexadecimal (24 caracteres).
+ *
+ * Cada ObjectId (12 bytes) é guardado como um long com os 8 primeiros bytes e um int com os
+ * 4 últimos, em uma tabela de endereçamento aberto com ocupação máxima de 75%: de 16 a 32
+ * bytes por elemento, contra cerca de 100 bytes de uma String em um conjunto de hash. Ids que
+ * não são ObjectIds não são guardados. O slot vazio é representado por zeros; o ObjectId
+ * zerado é guardado à parte.
+ *
+ * As operações são sincronizadas: cada conjunto pertence a uma única pauta e as operações
+ * são curtas e sem alocação.
+ */
+final class ConjuntoObjectIds {
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+    private static final int TAMANHO_OBJECT_ID = 24;
+
+    private final int tamanhoMaximo;
+    private long[] altos = new long[CAPACIDADE_INICIAL];
+    private int[] baixos = new int[CAPACIDADE_INICIAL];
+    private boolean contemZero;
+    private volatile int tamanho;
+
+    ConjuntoObjectIds(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * @return true se o id está no conjunto
+     */
+    synchronized boolean contem(String id) {
+        if (!isObjectId(id)) {
+            return false;
+        }
+        long alto = HexFormat.fromHexDigitsToLong(id, 0, 16);
+        int baixo = HexFormat.fromHexDigits(id, 16, TAMANHO_OBJECT_ID);
+        if (alto == 0 && baixo == 0) {
+            return contemZero;
+        }
+        int indice = buscar(altos, baixos, alto, baixo);
+        return altos[indice] != 0 || baixos[indice] != 0;
+    }
+
+    /**
+     * Adiciona o id ao conjunto.
+     *
+     * @return false se o id não pôde ser guardado (não é um ObjectId ou o conjunto atingiu o tamanho máximo)
+     */
+    synchronized boolean adicionar(String id) {
+        if (!isObjectId(id)) {
+            return false;
+        }
+        long alto = HexFormat.fromHexDigitsToLong(id, 0, 16);
+        int baixo = HexFormat.fromHexDigits(id, 16, TAMANHO_OBJECT_ID);
+        if (alto == 0 && baixo == 0) {
+            if (!contemZero) {
+                if (tamanho >= tamanhoMaximo) {
+                    return false;
+                }
+                contemZero = true;
+                tamanho++;
+            }
+            return true;
+        }
+
+        int indice = buscar(altos, baixos, alto, baixo);
+        if (altos[indice] != 0 || baixos[indice] != 0) {
+            return true;
+        }
+        if (tamanho >= tamanhoMaximo) {
+            return false;
+        }
+        altos[indice] = alto;
+        baixos[indice] = baixo;
+        tamanho++;
+        if (tamanho > (altos.length >> 2) * 3) {
+            redimensionar();
+        }
+        return true;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    private void redimensionar() {
+        long[] novosAltos = new long[altos.length << 1];
+        int[] novosBaixos = new int[baixos.length << 1];
+        for (int i = 0; i < altos.length; i++) {
+            if (altos[i] != 0 || baixos[i] != 0) {
+                int indice = buscar(novosAltos, novosBaixos, altos[i], baixos[i]);
+                novosAltos[indice] = altos[i];
+                novosBaixos[indice] = baixos[i];
+            }
+        }
+        altos = novosAltos;
+        baixos = novosBaixos;
+    }
+
+    /**
+     * @return o slot do id na tabela, ou o slot vazio em que ele seria inserido
+     */
+    private static int buscar(long[] altos, int[] baixos, long alto, int baixo) {
+        int mascara = altos.length - 1;
+        int indice = espalhar(alto, baixo) & mascara;
+        while ((altos[indice] != 0 || baixos[indice] != 0)
+                && (altos[indice] != alto || baixos[indice] != baixo)) {
+            indice = (indice + 1) & mascara;
+        }
+        return indice;
+    }
+
+    /**
+     * Finalizador do MurmurHash3: o contador sequencial dos ObjectIds fica nos bits baixos
+     * e precisa ser espalhado por toda a tabela.
+     */
+    private static int espalhar(long alto, int baixo) {
+        long hash = alto * 31 + baixo;
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (hash ^ (hash >>> 33));
+    }
+
+    private static boolean isObjectId(String id) {
+        if (id == null || id.length() != TAMANHO_OBJECT_ID) {
+            return false;
+        }
+        for (int i = 0; i < TAMANHO_OBJECT_ID; i++) {
+            if (!HexFormat.isHexDigit(id.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
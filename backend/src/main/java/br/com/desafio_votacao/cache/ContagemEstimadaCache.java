@@ -0,0 +1,70 @@
+package br.com.desafio_votacao.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Total estimado de documentos por coleção (e por filtro), usado no {@code totalElements} das
+ * listagens paginadas.
+ *
+ * Sem filtro, a contagem vem dos metadados da coleção ({@code estimatedDocumentCount}), sem
+ * varrer documentos; com filtro, é uma contagem pelo índice do filtro. Em ambos os casos o
+ * valor é atualizado em segundo plano após o TTL: as requisições seguintes recebem o valor
+ * anterior enquanto a atualização está em andamento, nunca esperando pelo MongoDB.
+ */
+@Component
+public class ContagemEstimadaCache {
+
+    /**
+     * Limite de combinações de coleção e filtro mantidas em cache.
+     */
+    private static final long TAMANHO_MAXIMO = 64;
+
+    private record Chave(Class<?> tipo, Document filtro) {}
+
+    private final AsyncLoadingCache<Chave, Long> contagens;
+
+    public ContagemEstimadaCache(
+            ReactiveMongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${votacao.cache.contagem.ttl:30s}") Duration ttl) {
+        AsyncLoadingCache<Chave, Long> cache = Caffeine.newBuilder()
+            .maximumSize(TAMANHO_MAXIMO)
+            .refreshAfterWrite(ttl)
+            .recordStats()
+            .buildAsync((chave, executor) -> (chave.filtro().isEmpty()
+                    ? mongoTemplate.estimatedCount(chave.tipo())
+                    : mongoTemplate.count(new BasicQuery(chave.filtro()), chave.tipo()))
+                .toFuture());
+        this.contagens = CaffeineCacheMetrics.monitor(meterRegistry, cache, "contagem.estimada");
+    }
+
+    /**
+     * @param tipo entidade mapeada para a coleção
+     * @return Mono com o total estimado de documentos da coleção
+     */
+    public Mono<Long> contar(Class<?> tipo) {
+        return contar(tipo, new Criteria());
+    }
+
+    /**
+     * @param tipo entidade mapeada para a coleção
+     * @param filtro filtro dos documentos contados
+     * @return Mono com o total de documentos que atendem ao filtro, atualizado periodicamente
+     */
+    public Mono<Long> contar(Class<?> tipo, Criteria filtro) {
+        Chave chave = new Chave(tipo, filtro.getCriteriaObject());
+        return Mono.fromFuture(() -> contagens.get(chave), true);
+    }
+}
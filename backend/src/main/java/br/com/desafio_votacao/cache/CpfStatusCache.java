@@ -0,0 +1,58 @@
+package br.com.desafio_votacao.cache;
+
+import br.com.desafio_votacao.client.CpfValidator.CpfStatus;
+import br.com.desafio_votacao.model.Cpf;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache do status de elegibilidade ({@link CpfStatus}) por CPF.
+ *
+ * Além do TTL, coalesce consultas simultâneas: enquanto uma consulta ao serviço externo
+ * para um CPF está em andamento, as demais requisições para o mesmo CPF aguardam o mesmo
+ * resultado em vez de disparar novas chamadas. Falhas não são armazenadas.
+ */
+@Component
+public class CpfStatusCache {
+
+    private final AsyncCache<Cpf, CpfStatus> cache;
+
+    public CpfStatusCache(
+            MeterRegistry meterRegistry,
+            @Value("${votacao.cache.cpf-status.tamanho-maximo:250000}") long tamanhoMaximo,
+            @Value("${votacao.cache.cpf-status.ttl:5m}") Duration ttl) {
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .<Cpf, CpfStatus>buildAsync(), "cpf.status");
+    }
+
+    /**
+     * Obtém o status do CPF do cache ou, em caso de falta, pela consulta informada.
+     *
+     * @param cpf CPF
+     * @param consulta consulta ao serviço externo, executada no máximo uma vez por CPF em andamento
+     * @return Mono com o status do CPF
+     */
+    public Mono<CpfStatus> obter(Cpf cpf, Function<Cpf, Mono<CpfStatus>> consulta) {
+        return Mono.fromFuture(() -> cache.get(cpf, (chave, executor) -> consulta.apply(chave).toFuture()), true);
+    }
+
+    /**
+     * Remove o status armazenado para o CPF.
+     *
+     * @param cpf CPF
+     */
+    public void invalidar(Cpf cpf) {
+        cache.synchronous().invalidate(cpf);
+    }
+}
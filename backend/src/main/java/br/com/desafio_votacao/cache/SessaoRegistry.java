@@ -0,0 +1,53 @@
+package br.com.desafio_votacao.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro em memória das sessões de votação abertas (pautaId → fim da sessão).
+ *
+ * Alimentado pela abertura de sessões, esvaziado pelo fechamento e reconstruído a partir
+ * do MongoDB na inicialização, permite verificar se uma sessão está aberta sem ler a pauta
+ * a cada voto.
+ */
+@Component
+public class SessaoRegistry {
+
+    private final Map<String, LocalDateTime> sessoesAbertas = new ConcurrentHashMap<>();
+
+    /**
+     * Registra (ou atualiza) uma sessão aberta.
+     *
+     * @param pautaId ID da pauta
+     * @param fimSessao instante de encerramento da sessão
+     */
+    public void registrar(String pautaId, LocalDateTime fimSessao) {
+        sessoesAbertas.put(pautaId, fimSessao);
+    }
+
+    /**
+     * Remove a sessão do registro, normalmente após o seu fechamento.
+     *
+     * @param pautaId ID da pauta
+     */
+    public void remover(String pautaId) {
+        sessoesAbertas.remove(pautaId);
+    }
+
+    /**
+     * Busca o fim da sessão registrada para a pauta.
+     *
+     * @param pautaId ID da pauta
+     * @return fim da sessão, ou null se a pauta não possui sessão registrada
+     */
+    public LocalDateTime buscarFimSessao(String pautaId) {
+        return sessoesAbertas.get(pautaId);
+    }
+
+    public int quantidade() {
+        return sessoesAbertas.size();
+    }
+}
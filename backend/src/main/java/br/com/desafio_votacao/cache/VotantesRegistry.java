@@ -0,0 +1,115 @@
+package br.com.desafio_votacao.cache;
+
+import br.com.desafio_votacao.repository.VotoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjunto em memória dos associados que já votaram em cada pauta com sessão aberta.
+ *
+ * Carregado na abertura da sessão (e na inicialização, para as sessões já abertas) e
+ * atualizado a cada voto aceito, permite rejeitar reenvios de quem já votou sem nenhuma
+ * consulta ao MongoDB. A ausência no conjunto não garante que o associado não votou (ex.:
+ * voto registrado por outra instância); nesse caso o índice único pauta/associado continua
+ * sendo a garantia final.
+ *
+ * Os ids são guardados de forma compacta (ver {@link ConjuntoObjectIds}), até
+ * {@code votacao.votantes.maximo-por-pauta} por pauta; os votantes além do limite, e ids que
+ * não são ObjectIds, não são mantidos em memória e são contados em
+ * {@code votacao.votantes.descartados}.
+ */
+@Component
+public class VotantesRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(VotantesRegistry.class);
+
+    private final VotoRepository votoRepository;
+    private final int maximoPorPauta;
+    private final Counter descartados;
+    private final Map<String, ConjuntoObjectIds> votantesPorPauta = new ConcurrentHashMap<>();
+
+    public VotantesRegistry(VotoRepository votoRepository, MeterRegistry meterRegistry,
+            @Value("${votacao.votantes.maximo-por-pauta:1000000}") int maximoPorPauta) {
+        this.votoRepository = votoRepository;
+        this.maximoPorPauta = maximoPorPauta;
+
+        Gauge.builder("votacao.votantes.memoria", votantesPorPauta,
+                mapa -> mapa.values().stream().mapToInt(ConjuntoObjectIds::tamanho).sum())
+            .description("Associados mantidos em memória para rejeição de votos duplicados")
+            .register(meterRegistry);
+        this.descartados = Counter.builder("votacao.votantes.descartados")
+            .description("Votantes não mantidos em memória (limite por pauta atingido ou id fora do formato ObjectId)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * (Re)carrega os votantes da pauta a partir da coleção de votos.
+     * Votos aceitos durante a carga também são registrados no novo conjunto.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono com a quantidade de votantes carregados
+     */
+    public Mono<Long> carregar(String pautaId) {
+        ConjuntoObjectIds votantes = new ConjuntoObjectIds(maximoPorPauta);
+        votantesPorPauta.put(pautaId, votantes);
+
+        return votoRepository.findAssociadoIdsByPautaId(pautaId)
+            .doOnNext(voto -> adicionar(votantes, voto.getAssociadoId()))
+            .count()
+            .doOnSuccess(total -> logger.info("{} votantes carregados em memória para a pauta {}", total, pautaId))
+            .doOnError(error -> votantesPorPauta.remove(pautaId, votantes));
+    }
+
+    /**
+     * Carrega os votantes da pauta apenas se ainda não estiverem em memória.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono com a quantidade de votantes carregados (0 se já estavam em memória)
+     */
+    public Mono<Long> carregarSeAusente(String pautaId) {
+        if (votantesPorPauta.containsKey(pautaId)) {
+            return Mono.just(0L);
+        }
+        return carregar(pautaId);
+    }
+
+    /**
+     * @return true se o associado certamente já votou na pauta
+     */
+    public boolean jaVotou(String pautaId, String associadoId) {
+        ConjuntoObjectIds votantes = votantesPorPauta.get(pautaId);
+        return votantes != null && votantes.contem(associadoId);
+    }
+
+    /**
+     * Registra o voto do associado, caso a pauta esteja carregada em memória.
+     */
+    public void registrar(String pautaId, String associadoId) {
+        ConjuntoObjectIds votantes = votantesPorPauta.get(pautaId);
+        if (votantes != null) {
+            adicionar(votantes, associadoId);
+        }
+    }
+
+    /**
+     * Descarta os votantes da pauta, normalmente após o fechamento da sessão.
+     */
+    public void remover(String pautaId) {
+        votantesPorPauta.remove(pautaId);
+    }
+
+    private void adicionar(ConjuntoObjectIds votantes, String associadoId) {
+        if (!votantes.adicionar(associadoId)) {
+            descartados.increment();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.desafio_votacao.client;
+
+import br.com.desafio_votacao.cache.CpfStatusCache;
+import br.com.desafio_votacao.model.Cpf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ponto de entrada da validação de CPF usado pela aplicação.
+ *
+ * Mantém o status em cache (com coalescência
+ * de consultas simultâneas) e aplica a política de fallback quando o serviço externo falha.
+ * O fallback é aplicado fora do cache, de modo que respostas degradadas nunca são armazenadas.
+ */
+public class CachingCpfValidator implements CpfValidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingCpfValidator.class);
+
+    /**
+     * Comportamento quando o serviço externo está indisponível (timeout, erro, circuito aberto, bulkhead cheio).
+     */
+    public enum PoliticaFallback {
+        /** Considera o associado não habilitado (UNABLE_TO_VOTE) */
+        NEGAR,
+        /** Considera o associado habilitado (ABLE_TO_VOTE) */
+        PERMITIR,
+        /** Propaga o erro como HTTP 503 */
+        ERRO
+    }
+
+    private final CpfValidator delegate;
+    private final CpfStatusCache cpfStatusCache;
+    private final PoliticaFallback politicaFallback;
+
+    public CachingCpfValidator(CpfValidator delegate, CpfStatusCache cpfStatusCache, PoliticaFallback politicaFallback) {
+        this.delegate = delegate;
+        this.cpfStatusCache = cpfStatusCache;
+        this.politicaFallback = politicaFallback;
+    }
+
+    @Override
+    public Mono<CpfStatus> validarCpf(Cpf cpf) {
+        // O formato já foi validado na construção do Cpf
+        if (cpf == null) {
+            logger.warn("CPF não informado");
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "CPF inválido"));
+        }
+        logger.atDebug().addArgument(cpf::mascarado).log("Validando CPF: {}");
+
+        return cpfStatusCache.obter(cpf, delegate::validarCpf)
+            .onErrorResume(ex -> !(ex instanceof ResponseStatusException), ex -> fallback(cpf, ex));
+    }
+
+    private Mono<CpfStatus> fallback(Cpf cpf, Throwable ex) {
+        logger.warn("Serviço de CPF indisponível para {}, aplicando fallback {}: {}", cpf.mascarado(), politicaFallback, ex.toString());
+
+        return switch (politicaFallback) {
+            case NEGAR -> Mono.just(new CpfStatus(UNABLE_TO_VOTE));
+            case PERMITIR -> Mono.just(new CpfStatus(ABLE_TO_VOTE));
+            case ERRO -> Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Serviço de validação de CPF indisponível"));
+        };
+    }
+}
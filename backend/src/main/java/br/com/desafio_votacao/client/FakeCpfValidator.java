@@ -0,0 +1,45 @@
+package br.com.desafio_votacao.client;
+
+import br.com.desafio_votacao.model.Cpf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.SplittableRandom;
+
+/**
+ * Cliente fake para validação de CPF
+ * Retorna aleatoriamente se um CPF é válido (ABLE_TO_VOTE) ou inválido (UNABLE_TO_VOTE).
+ * Implementa a tarefa bônus 1 do desafio.
+ * O sorteio usa o próprio CPF como semente: o mesmo CPF sempre tem o mesmo status, de modo
+ * que o resultado pode ser mantido no cache de status como o do serviço externo.
+ */
+public class FakeCpfValidator implements CpfValidator {
+    private static final Logger logger = LoggerFactory.getLogger(FakeCpfValidator.class);
+
+    /**
+     * Valida o CPF de forma aleatória, com o CPF como semente.
+     *
+     * Retorna HTTP 404 se o CPF não for informado.
+     *
+     * @param cpf CPF a ser validado
+     * @return Mono com o status do CPF (ABLE_TO_VOTE ou UNABLE_TO_VOTE)
+     */
+    @Override
+    public Mono<CpfStatus> validarCpf(Cpf cpf) {
+        if (cpf == null) {
+            logger.warn("CPF não informado");
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "CPF inválido"));
+        }
+
+        return Mono.defer(() -> {
+            boolean ableToVote = new SplittableRandom(cpf.valor()).nextInt(10) < 7;
+            String status = ableToVote ? ABLE_TO_VOTE : UNABLE_TO_VOTE;
+
+            logger.atDebug().addArgument(cpf::mascarado).addArgument(status).log("CPF {} status: {}");
+            return Mono.just(new CpfStatus(status));
+        });
+    }
+}
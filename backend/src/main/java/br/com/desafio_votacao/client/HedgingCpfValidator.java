@@ -0,0 +1,155 @@
+package br.com.desafio_votacao.client;
+
+import br.com.desafio_votacao.model.Cpf;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Requisições "hedged" ao serviço de CPF para reduzir a latência de cauda.
+ *
+ * Se a chamada não responder dentro do atraso de hedge (o percentil configurado das
+ * latências recentes, nunca abaixo do atraso mínimo), uma segunda chamada é disparada e
+ * vence a primeira resposta; a outra é cancelada. O número de hedges é limitado por um
+ * orçamento: cada chamada acumula {@code taxaMaxima} de crédito e cada hedge consome um.
+ *
+ * Um erro da chamada original é propagado imediatamente; um erro do hedge é ignorado e a
+ * chamada original decide o resultado.
+ *
+ * As latências que definem o atraso são as das chamadas originais, inclusive as que falham
+ * ou são canceladas por perderem para o hedge (registradas com o tempo decorrido até o
+ * cancelamento, um limite inferior da latência real); sem elas, as chamadas lentas ficariam
+ * fora da amostra. Um hedge cancelado não é registrado: apenas perdeu para a original, cuja
+ * latência já foi registrada.
+ */
+public class HedgingCpfValidator implements CpfValidator {
+
+    private static final int AMOSTRAS = 1024;
+    private static final int RECALCULO_A_CADA = 64;
+    private static final long ESCALA_ORCAMENTO = 1000;
+    private static final long ORCAMENTO_MAXIMO = 10 * ESCALA_ORCAMENTO;
+
+    private final CpfValidator delegate;
+    private final double percentil;
+    private final long atrasoMinimoNanos;
+    private final long creditoPorChamada;
+
+    private final AtomicLongArray latencias = new AtomicLongArray(AMOSTRAS);
+    private final AtomicInteger amostrasRegistradas = new AtomicInteger();
+    private final AtomicLong orcamento = new AtomicLong();
+    private volatile long atrasoNanos;
+
+    private final Counter hedgesDisparados;
+    private final Counter hedgesVencedores;
+    private final Counter hedgesNegados;
+
+    public HedgingCpfValidator(CpfValidator delegate, double percentil, Duration atrasoMinimo, double taxaMaxima, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.percentil = percentil;
+        this.atrasoMinimoNanos = atrasoMinimo.toNanos();
+        this.creditoPorChamada = Math.round(taxaMaxima * ESCALA_ORCAMENTO);
+        this.atrasoNanos = atrasoMinimoNanos;
+
+        this.hedgesDisparados = meterRegistry.counter("votacao.cpf.hedge", "evento", "disparado");
+        this.hedgesVencedores = meterRegistry.counter("votacao.cpf.hedge", "evento", "vencedor");
+        this.hedgesNegados = meterRegistry.counter("votacao.cpf.hedge", "evento", "sem-orcamento");
+        Gauge.builder("votacao.cpf.hedge.atraso", this, validator -> validator.atrasoNanos / 1_000_000.0)
+            .description("Atraso atual (ms) antes de disparar o hedge")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<CpfStatus> validarCpf(Cpf cpf) {
+        return Mono.defer(() -> {
+            depositarCredito();
+
+            Mono<Signal<CpfStatus>> original = medir(delegate.validarCpf(cpf), true)
+                .materialize();
+
+            Mono<Signal<CpfStatus>> hedge = Mono.delay(Duration.ofNanos(atrasoNanos))
+                .then(Mono.defer(() -> {
+                    if (!consumirCredito()) {
+                        hedgesNegados.increment();
+                        return Mono.never();
+                    }
+                    hedgesDisparados.increment();
+                    return medir(delegate.validarCpf(cpf), false)
+                        .doOnNext(status -> hedgesVencedores.increment())
+                        .onErrorResume(ex -> Mono.never())
+                        .materialize();
+                }));
+
+            return Mono.firstWithValue(original, hedge)
+                .<CpfStatus>dematerialize();
+        });
+    }
+
+    Duration atrasoAtual() {
+        return Duration.ofNanos(atrasoNanos);
+    }
+
+    private Mono<CpfStatus> medir(Mono<CpfStatus> chamada, boolean registrarCancelamento) {
+        return Mono.defer(() -> {
+            long inicio = System.nanoTime();
+            AtomicBoolean registrada = new AtomicBoolean();
+            Runnable registrar = () -> {
+                if (registrada.compareAndSet(false, true)) {
+                    registrarLatencia(System.nanoTime() - inicio);
+                }
+            };
+            return chamada
+                .doOnNext(status -> registrar.run())
+                .doFinally(sinal -> {
+                    if (sinal != SignalType.CANCEL || registrarCancelamento) {
+                        registrar.run();
+                    }
+                });
+        });
+    }
+
+    private void registrarLatencia(long nanos) {
+        int sequencia = amostrasRegistradas.getAndIncrement();
+        latencias.set(Math.floorMod(sequencia, AMOSTRAS), nanos);
+
+        if ((sequencia + 1) % RECALCULO_A_CADA == 0) {
+            recalcularAtraso(Math.min(sequencia + 1, AMOSTRAS));
+        }
+    }
+
+    private void recalcularAtraso(int quantidade) {
+        long[] copia = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            copia[i] = latencias.get(i);
+        }
+        Arrays.sort(copia);
+
+        int posicao = (int) Math.min(quantidade - 1, Math.ceil(percentil * quantidade) - 1);
+        atrasoNanos = Math.max(atrasoMinimoNanos, copia[Math.max(posicao, 0)]);
+    }
+
+    private void depositarCredito() {
+        orcamento.accumulateAndGet(creditoPorChamada, (atual, credito) -> Math.min(ORCAMENTO_MAXIMO, atual + credito));
+    }
+
+    private boolean consumirCredito() {
+        long atual;
+        do {
+            atual = orcamento.get();
+            if (atual < ESCALA_ORCAMENTO) {
+                return false;
+            }
+        } while (!orcamento.compareAndSet(atual, atual - ESCALA_ORCAMENTO));
+        return true;
+    }
+}
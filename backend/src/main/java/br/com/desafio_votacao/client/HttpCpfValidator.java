@@ -0,0 +1,76 @@
+package br.com.desafio_votacao.client;
+
+import br.com.desafio_votacao.model.Cpf;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cliente HTTP não bloqueante do serviço externo de elegibilidade de CPF.
+ *
+ * Contrato do serviço: {@code GET /users/{cpf}} responde 200 com {@code {"status": "ABLE_TO_VOTE"}}
+ * ou {@code {"status": "UNABLE_TO_VOTE"}}, e 404 para CPF inválido.
+ *
+ * Os timeouts de conexão e de resposta ficam no {@link WebClient}; cada chamada passa por um
+ * bulkhead (limite de chamadas simultâneas) e, dentro dele, por um circuit breaker. O CPF
+ * inválido (404) e a recusa do bulkhead não contam como falha do circuito.
+ */
+public class HttpCpfValidator implements CpfValidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpCpfValidator.class);
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+
+    public HttpCpfValidator(WebClient webClient, CircuitBreaker circuitBreaker, Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<CpfStatus> validarCpf(Cpf cpf) {
+        return Mono.defer(() -> {
+            Timer.Sample inicio = Timer.start(meterRegistry);
+
+            return webClient.get()
+                .uri("/users/{cpf}", cpf.toString())
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                        return response.releaseBody()
+                            .then(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "CPF inválido")));
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    return response.bodyToMono(CpfStatus.class);
+                })
+                // Bulkhead por fora: chamadas recusadas por excesso de concorrência não contam no circuito
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .doOnEach(signal -> {
+                    if (signal.isOnNext() || signal.isOnError()) {
+                        String resultado = signal.isOnNext() ? signal.get().status() : signal.getThrowable().getClass().getSimpleName();
+                        inicio.stop(meterRegistry.timer("votacao.cpf.validador.latencia", "resultado", resultado));
+                    }
+                })
+                .doOnError(ex -> {
+                    if (!(ex instanceof ResponseStatusException)) {
+                        logger.warn("Falha ao consultar serviço de CPF: {}", ex.toString());
+                    }
+                });
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.desafio_votacao.config;
+
+import io.micrometer.context.ContextRegistry;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identificador de correlação de cada requisição: o recebido no cabeçalho
+ * {@value #CABECALHO} ou um novo, devolvido no mesmo cabeçalho da resposta.
+ *
+ * O identificador é gravado no contexto do Reactor e, com
+ * {@code spring.reactor.context-propagation=auto}, restaurado no MDC ({@value #CHAVE}) das
+ * threads que executam a requisição, de modo que todos os logs dela o incluem.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelacaoWebFilter implements WebFilter {
+
+    public static final String CABECALHO = "X-Correlation-Id";
+    public static final String CHAVE = "correlationId";
+
+    private static final int TAMANHO_MAXIMO = 64;
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(CHAVE,
+            () -> MDC.get(CHAVE),
+            valor -> MDC.put(CHAVE, valor),
+            () -> MDC.remove(CHAVE));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String correlacao = correlacao(exchange.getRequest().getHeaders().getFirst(CABECALHO));
+        exchange.getResponse().getHeaders().set(CABECALHO, correlacao);
+        return chain.filter(exchange)
+            .contextWrite(contexto -> contexto.put(CHAVE, correlacao));
+    }
+
+    /**
+     * Aceita o identificador recebido apenas se for curto e sem caracteres de controle,
+     * para que não seja possível injetar conteúdo nos logs.
+     */
+    static String correlacao(String recebido) {
+        if (recebido != null && !recebido.isEmpty() && recebido.length() <= TAMANHO_MAXIMO
+                && recebido.chars().allMatch(c -> c > 0x20 && c < 0x7f)) {
+            return recebido;
+        }
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    }
+}
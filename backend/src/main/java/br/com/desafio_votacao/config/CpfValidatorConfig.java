@@ -0,0 +1,95 @@
+package br.com.desafio_votacao.config;
+
+import br.com.desafio_votacao.cache.CpfStatusCache;
+import br.com.desafio_votacao.client.CachingCpfValidator;
+import br.com.desafio_votacao.client.CpfValidator;
+import br.com.desafio_votacao.client.FakeCpfValidator;
+import br.com.desafio_votacao.client.HedgingCpfValidator;
+import br.com.desafio_votacao.client.HttpCpfValidator;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Monta o {@link CpfValidator} usado pela aplicação: a implementação escolhida em
+ * {@code votacao.cpf-validator.tipo}, sempre envolvida pelo cache (com coalescência de consultas
+ * simultâneas) e pela política de fallback. O cliente HTTP é opcionalmente envolvido por hedging.
+ */
+@Configuration
+@EnableConfigurationProperties(CpfValidatorProperties.class)
+public class CpfValidatorConfig {
+
+    private static final String NOME = "cpfValidator";
+
+    @Bean
+    public CpfValidator cpfValidator(
+            CpfValidatorProperties properties,
+            CpfStatusCache cpfStatusCache,
+            WebClient.Builder webClientBuilder,
+            MeterRegistry meterRegistry) {
+        if (properties.tipo() == CpfValidatorProperties.Tipo.FAKE) {
+            return new CachingCpfValidator(new FakeCpfValidator(), cpfStatusCache, properties.fallback());
+        }
+
+        CpfValidator delegate = httpCpfValidator(properties, webClientBuilder, meterRegistry);
+
+        CpfValidatorProperties.Hedging hedging = properties.hedging();
+        if (hedging.habilitado()) {
+            delegate = new HedgingCpfValidator(delegate, hedging.percentil(), hedging.atrasoMinimo(),
+                hedging.taxaMaxima(), meterRegistry);
+        }
+
+        return new CachingCpfValidator(delegate, cpfStatusCache, properties.fallback());
+    }
+
+    private HttpCpfValidator httpCpfValidator(
+            CpfValidatorProperties properties,
+            WebClient.Builder webClientBuilder,
+            MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.create()
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.timeoutConexao().toMillis())
+            .responseTimeout(properties.timeoutResposta());
+
+        WebClient webClient = webClientBuilder.clone()
+            .baseUrl(properties.url())
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .failureRateThreshold(properties.percentualFalhas())
+            .slidingWindowSize(properties.janelaChamadas())
+            .minimumNumberOfCalls(Math.min(properties.janelaChamadas(), 10))
+            .waitDurationInOpenState(properties.esperaCircuitoAberto())
+            .ignoreExceptions(ResponseStatusException.class, BulkheadFullException.class)
+            .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(properties.maxChamadasSimultaneas())
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(NOME);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(NOME);
+
+        return new HttpCpfValidator(webClient, circuitBreaker, bulkhead, meterRegistry);
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.desafio_votacao.config;
+
+import br.com.desafio_votacao.client.CachingCpfValidator.PoliticaFallback;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do cliente de validação de CPF ({@code votacao.cpf-validator.*}).
+ *
+ * @param tipo implementação usada: FAKE (aleatória) ou HTTP (serviço externo)
+ * @param url URL base do serviço externo
+ * @param timeoutConexao tempo máximo para estabelecer a conexão
+ * @param timeoutResposta tempo máximo de espera pela resposta
+ * @param maxChamadasSimultaneas limite do bulkhead
+ * @param percentualFalhas percentual de falhas que abre o circuito
+ * @param janelaChamadas quantidade de chamadas avaliadas pelo circuit breaker
+ * @param esperaCircuitoAberto tempo em que o circuito permanece aberto antes de testar o serviço novamente
+ * @param fallback política aplicada quando o serviço está indisponível
+ * @param hedging configuração das requisições "hedged" (apenas para o tipo HTTP)
+ */
+@ConfigurationProperties(prefix = "votacao.cpf-validator")
+public record CpfValidatorProperties(
+    @DefaultValue("FAKE") Tipo tipo,
+    @DefaultValue("http://localhost:8089") String url,
+    @DefaultValue("1s") Duration timeoutConexao,
+    @DefaultValue("2s") Duration timeoutResposta,
+    @DefaultValue("64") int maxChamadasSimultaneas,
+    @DefaultValue("50") float percentualFalhas,
+    @DefaultValue("50") int janelaChamadas,
+    @DefaultValue("30s") Duration esperaCircuitoAberto,
+    @DefaultValue("NEGAR") PoliticaFallback fallback,
+    @DefaultValue Hedging hedging
+) {
+
+    public enum Tipo {
+        FAKE,
+        HTTP
+    }
+
+    /**
+     * @param habilitado dispara uma segunda requisição quando a primeira demora além do percentil
+     * @param percentil percentil das latências recentes usado como atraso do hedge (ex.: 0.95)
+     * @param atrasoMinimo atraso mínimo antes de disparar o hedge
+     * @param taxaMaxima fração máxima de chamadas que podem gerar hedge (ex.: 0.1 = 10%)
+     */
+    public record Hedging(
+        @DefaultValue("false") boolean habilitado,
+        @DefaultValue("0.95") double percentil,
+        @DefaultValue("50ms") Duration atrasoMinimo,
+        @DefaultValue("0.1") double taxaMaxima
+    ) {}
+}
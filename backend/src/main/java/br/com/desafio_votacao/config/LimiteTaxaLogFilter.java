@@ -0,0 +1,76 @@
+package br.com.desafio_votacao.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Limita as mensagens por segundo de cada logger configurado (ex.: as mensagens emitidas a
+ * cada voto). O excedente de INFO, DEBUG e TRACE é descartado antes da formatação; WARN e
+ * ERROR sempre passam. Configurado em {@code logback-spring.xml}.
+ */
+public class LimiteTaxaLogFilter extends TurboFilter {
+
+    private final Set<String> loggers = new HashSet<>();
+    private final Map<String, Janela> janelas = new ConcurrentHashMap<>();
+    private final LongSupplier segundoAtual;
+    private int eventosPorSegundo = 10;
+
+    public LimiteTaxaLogFilter() {
+        this(() -> System.currentTimeMillis() / 1000);
+    }
+
+    LimiteTaxaLogFilter(LongSupplier segundoAtual) {
+        this.segundoAtual = segundoAtual;
+    }
+
+    public void addLogger(String logger) {
+        loggers.add(logger);
+    }
+
+    public void setEventosPorSegundo(int eventosPorSegundo) {
+        this.eventosPorSegundo = eventosPorSegundo;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Sem mensagem é apenas uma verificação de nível (isInfoEnabled()), que não consome a cota
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !loggers.contains(logger.getName())
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Janela janela = janelas.computeIfAbsent(logger.getName(), nome -> new Janela());
+        return janela.permitir(segundoAtual.getAsLong(), eventosPorSegundo)
+            ? FilterReply.NEUTRAL
+            : FilterReply.DENY;
+    }
+
+    /**
+     * Contagem de mensagens do segundo corrente de um logger.
+     */
+    private static final class Janela {
+        private volatile long segundo;
+        private final AtomicInteger eventos = new AtomicInteger();
+
+        boolean permitir(long agora, int limite) {
+            if (agora != segundo) {
+                synchronized (this) {
+                    if (agora != segundo) {
+                        eventos.set(0);
+                        segundo = agora;
+                    }
+                }
+            }
+            return eventos.incrementAndGet() <= limite;
+        }
+    }
+}
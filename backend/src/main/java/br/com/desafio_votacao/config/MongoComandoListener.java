@@ -0,0 +1,169 @@
+package br.com.desafio_votacao.config;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede os comandos enviados ao MongoDB e a espera por conexões do pool, sem depender do
+ * profiler do banco:
+ *
+ * - {@code votacao.mongodb.comando}: latência por coleção, comando, origem e status;
+ * - {@code votacao.mongodb.documentos}: documentos devolvidos ou afetados por comando;
+ * - {@code votacao.mongodb.pool.espera}: tempo de espera por uma conexão do pool, por servidor.
+ *
+ * A origem é o método do repositório que gerou o comando (ex.:
+ * {@code VotoRepository.countByPautaIdAndOpcaoVoto}), propagada pelo contexto do Reactor até o
+ * driver (veja {@link OrigemRepositorio}). Comandos acima de {@code votacao.mongodb.comando-lento}
+ * são registrados em log; o conteúdo do comando não é registrado, pois pode conter CPFs.
+ */
+public class MongoComandoListener implements CommandListener, ConnectionPoolListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoComandoListener.class);
+
+    /** Comandos cujo valor do primeiro campo é o nome da coleção */
+    private static final Set<String> COMANDOS_COM_COLECAO = Set.of(
+        "aggregate", "count", "distinct", "mapReduce", "geoSearch", "delete", "find", "findAndModify",
+        "insert", "update", "collMod", "compact", "convertToCapped", "create", "createIndexes", "drop",
+        "dropIndexes", "killCursors", "listIndexes", "reIndex");
+
+    private static final String SEM_COLECAO = "nenhuma";
+
+    private final MeterRegistry meterRegistry;
+    private final long limiteLentoNanos;
+    /** Coleção de cada comando em andamento, pelo requestId (os eventos de conclusão não a informam) */
+    private final Map<Integer, String> colecoes = new ConcurrentHashMap<>();
+
+    public MongoComandoListener(MeterRegistry meterRegistry, Duration comandoLento) {
+        this.meterRegistry = meterRegistry;
+        this.limiteLentoNanos = comandoLento.toNanos();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        colecoes.put(event.getRequestId(), colecao(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String colecao = removerColecao(event.getRequestId());
+        String origem = OrigemRepositorio.de(event.getRequestContext());
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        Long documentos = documentos(event.getResponse());
+
+        registrar(colecao, event.getCommandName(), origem, "sucesso", nanos);
+        if (documentos != null) {
+            DistributionSummary.builder("votacao.mongodb.documentos")
+                .description("Documentos devolvidos ou afetados por comando no MongoDB")
+                .tags(Tags.of("colecao", colecao, "comando", event.getCommandName(), "origem", origem))
+                .register(meterRegistry)
+                .record(documentos);
+        }
+        if (nanos >= limiteLentoNanos) {
+            logger.warn("Comando lento no MongoDB: {} em {} ({}) levou {} ms, {} documentos",
+                event.getCommandName(), colecao, origem, TimeUnit.NANOSECONDS.toMillis(nanos),
+                documentos != null ? documentos : "-");
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        String colecao = removerColecao(event.getRequestId());
+        String origem = OrigemRepositorio.de(event.getRequestContext());
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+
+        registrar(colecao, event.getCommandName(), origem, "falha", nanos);
+        if (nanos >= limiteLentoNanos) {
+            logger.warn("Comando lento no MongoDB: {} em {} ({}) falhou após {} ms: {}",
+                event.getCommandName(), colecao, origem, TimeUnit.NANOSECONDS.toMillis(nanos),
+                event.getThrowable().getMessage());
+        }
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        registrarEspera(event.getConnectionId().getServerId(), "sucesso", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        registrarEspera(event.getServerId(), event.getReason().name().toLowerCase(),
+            event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void registrar(String colecao, String comando, String origem, String status, long nanos) {
+        Timer.builder("votacao.mongodb.comando")
+            .description("Latência dos comandos enviados ao MongoDB")
+            .tags(Tags.of("colecao", colecao, "comando", comando, "origem", origem, "status", status))
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void registrarEspera(ServerId servidor, String status, long nanos) {
+        Timer.builder("votacao.mongodb.pool.espera")
+            .description("Tempo de espera por uma conexão do pool do MongoDB")
+            .tags(Tags.of("servidor", servidor.getAddress().toString(), "status", status))
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String removerColecao(int requestId) {
+        String colecao = colecoes.remove(requestId);
+        return colecao != null ? colecao : SEM_COLECAO;
+    }
+
+    static String colecao(String comando, BsonDocument documento) {
+        if (COMANDOS_COM_COLECAO.contains(comando)) {
+            BsonValue valor = documento.get(comando);
+            if (valor != null && valor.isString()) {
+                return valor.asString().getValue();
+            }
+        }
+        // getMore informa a coleção em um campo próprio
+        BsonValue valor = documento.get("collection");
+        return valor != null && valor.isString() ? valor.asString().getValue() : SEM_COLECAO;
+    }
+
+    /**
+     * @return documentos do lote devolvido (find, aggregate, getMore), afetados (insert, update,
+     * delete) ou contados (count); {@code null} para comandos sem documentos
+     */
+    static Long documentos(BsonDocument resposta) {
+        BsonValue cursor = resposta.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue lote = cursor.asDocument().get("firstBatch");
+            if (lote == null) {
+                lote = cursor.asDocument().get("nextBatch");
+            }
+            return lote != null && lote.isArray() ? (long) lote.asArray().size() : null;
+        }
+        BsonValue n = resposta.get("n");
+        if (n != null && n.isNumber()) {
+            return n.asNumber().longValue();
+        }
+        BsonValue valor = resposta.get("value");
+        if (valor != null) {
+            return valor.isDocument() ? 1L : 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.desafio_votacao.config;
+
+import br.com.desafio_votacao.model.Cpf;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+/**
+ * Conversões dos tipos de valor do domínio para o MongoDB.
+ *
+ * O {@link Cpf} é gravado como inteiro de 64 bits, o que reduz as entradas do índice único de
+ * CPF e dispensa a análise do texto a cada leitura. CPFs ainda gravados como texto (anteriores
+ * à migração de {@link br.com.desafio_votacao.repository.AssociadoRepositoryCustom#migrarCpfsTexto()})
+ * continuam legíveis; os que não são CPFs válidos são lidos como nulos, e o associado é tratado
+ * como sem CPF (não habilitado a votar) em vez de falhar a leitura do documento.
+ */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+            new CpfParaLong(),
+            new LongParaCpf(),
+            new TextoParaCpf()));
+    }
+
+    @WritingConverter
+    static class CpfParaLong implements Converter<Cpf, Long> {
+        @Override
+        public Long convert(Cpf cpf) {
+            return cpf.valor();
+        }
+    }
+
+    @ReadingConverter
+    static class LongParaCpf implements Converter<Long, Cpf> {
+        @Override
+        public Cpf convert(Long valor) {
+            return Cpf.armazenado(valor);
+        }
+    }
+
+    @ReadingConverter
+    static class TextoParaCpf implements Converter<String, Cpf> {
+        @Override
+        public Cpf convert(String texto) {
+            return Cpf.analisar(texto).orElse(null);
+        }
+    }
+}
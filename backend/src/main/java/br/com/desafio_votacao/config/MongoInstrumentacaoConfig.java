@@ -0,0 +1,51 @@
+package br.com.desafio_votacao.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.time.Duration;
+
+/**
+ * Instrumentação dos comandos do MongoDB por método de repositório (veja {@link MongoComandoListener}).
+ */
+@Configuration
+public class MongoInstrumentacaoConfig {
+
+    @Bean
+    public MongoComandoListener mongoComandoListener(
+            MeterRegistry meterRegistry,
+            @Value("${votacao.mongodb.comando-lento:100ms}") Duration comandoLento) {
+        return new MongoComandoListener(meterRegistry, comandoLento);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoInstrumentacao(MongoComandoListener listener) {
+        return settings -> settings
+            .contextProvider(OrigemRepositorio.contextProvider())
+            .addCommandListener(listener)
+            .applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(listener));
+    }
+
+    /**
+     * Acrescenta o {@link OrigemRepositorio.Interceptor} aos proxies dos repositórios, antes de
+     * serem criados pelas respectivas factory beans.
+     */
+    @Bean
+    public static BeanPostProcessor origemRepositorioPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, informacao) -> proxyFactory.addAdvice(new OrigemRepositorio.Interceptor(informacao))));
+                }
+                return bean;
+            }
+        };
+    }
+}
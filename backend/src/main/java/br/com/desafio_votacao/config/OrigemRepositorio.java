@@ -0,0 +1,136 @@
+package br.com.desafio_votacao.config;
+
+import com.mongodb.RequestContext;
+import com.mongodb.reactivestreams.client.ReactiveContextProvider;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Subscriber;
+import org.springframework.data.repository.core.RepositoryInformation;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Identifica o método de repositório que originou cada comando enviado ao MongoDB.
+ *
+ * O {@link Interceptor} grava o nome do método (ex.: {@code PautaRepository.findBySessaoAbertaIsTrueAndFimSessaoBefore})
+ * no contexto do Reactor do {@link Mono}/{@link Flux} devolvido pelo repositório; o
+ * {@link #contextProvider()} repassa esse valor ao driver, que o entrega ao
+ * {@link MongoComandoListener} nos eventos de cada comando.
+ */
+final class OrigemRepositorio {
+
+    static final String CHAVE = OrigemRepositorio.class.getName();
+
+    /** Origem dos comandos emitidos fora dos repositórios (ex.: ReactiveMongoTemplate usado diretamente) */
+    static final String SEM_ORIGEM = "template";
+
+    private static final ReactiveContextProvider CONTEXT_PROVIDER = OrigemRepositorio::contexto;
+
+    private OrigemRepositorio() {
+    }
+
+    static ReactiveContextProvider contextProvider() {
+        return CONTEXT_PROVIDER;
+    }
+
+    /**
+     * @return origem registrada no contexto do comando, ou {@value #SEM_ORIGEM}
+     */
+    static String de(RequestContext contexto) {
+        return contexto != null ? contexto.getOrDefault(CHAVE, SEM_ORIGEM) : SEM_ORIGEM;
+    }
+
+    private static RequestContext contexto(Subscriber<?> subscriber) {
+        String origem = subscriber instanceof CoreSubscriber<?> coreSubscriber
+            ? coreSubscriber.currentContext().getOrDefault(CHAVE, null)
+            : null;
+        return new Contexto(origem);
+    }
+
+    /**
+     * Acrescenta a origem ao contexto dos publishers devolvidos pelos métodos de um repositório.
+     */
+    static class Interceptor implements MethodInterceptor {
+
+        private final String repositorio;
+        private final Map<Method, String> origens = new ConcurrentHashMap<>();
+
+        Interceptor(RepositoryInformation informacao) {
+            this.repositorio = informacao.getRepositoryInterface().getSimpleName();
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object resultado = invocation.proceed();
+            if (resultado instanceof Mono<?> mono) {
+                String origem = origem(invocation.getMethod());
+                return mono.contextWrite(contexto -> contexto.put(CHAVE, origem));
+            }
+            if (resultado instanceof Flux<?> flux) {
+                String origem = origem(invocation.getMethod());
+                return flux.contextWrite(contexto -> contexto.put(CHAVE, origem));
+            }
+            return resultado;
+        }
+
+        private String origem(Method metodo) {
+            return origens.computeIfAbsent(metodo, m -> repositorio + "." + m.getName());
+        }
+    }
+
+    /**
+     * Contexto entregue ao driver, iniciado apenas com a origem do comando.
+     */
+    private static class Contexto implements RequestContext {
+
+        private final Map<Object, Object> valores = new ConcurrentHashMap<>(2);
+
+        Contexto(String origem) {
+            if (origem != null) {
+                valores.put(CHAVE, origem);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object chave) {
+            return (T) valores.get(chave);
+        }
+
+        @Override
+        public boolean hasKey(Object chave) {
+            return valores.containsKey(chave);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return valores.isEmpty();
+        }
+
+        @Override
+        public void put(Object chave, Object valor) {
+            valores.put(chave, valor);
+        }
+
+        @Override
+        public void delete(Object chave) {
+            valores.remove(chave);
+        }
+
+        @Override
+        public int size() {
+            return valores.size();
+        }
+
+        @Override
+        public Stream<Map.Entry<Object, Object>> stream() {
+            return valores.entrySet().stream();
+        }
+    }
+}
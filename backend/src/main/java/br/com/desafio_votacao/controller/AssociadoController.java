@@ -2,8 +2,10 @@ package br.com.desafio_votacao.controller;
 
 import br.com.desafio_votacao.client.CpfValidator;
 import br.com.desafio_votacao.dto.AssociadoDTO;
+import br.com.desafio_votacao.dto.AssociadoImportacaoDTO;
 import br.com.desafio_votacao.dto.PageResponse;
 import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
 import br.com.desafio_votacao.service.AssociadoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,8 +14,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
@@ -32,22 +37,34 @@ public class AssociadoController {
     
     private final AssociadoService associadoService;
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private static final String ABLE_TO_VOTE = "ABLE_TO_VOTE";
     private static final String UNABLE_TO_VOTE = "UNABLE_TO_VOTE";
 
     @GetMapping
     @Operation(summary = "Lista todos os associados", 
-               description = "Retorna uma lista com todos os associados cadastrados no sistema")
+               description = "Retorna uma lista paginada com os associados cadastrados no sistema, opcionalmente filtrada por `ativo`. " +
+                   "Informe `after` com o `nextCursor` da resposta anterior para paginar por cursor (custo constante em páginas profundas). " +
+                   "O `totalElements` é estimado e atualizado periodicamente, a menos que `contagemExata=true`")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Associados listados com sucesso")
+        @ApiResponse(responseCode = "200", description = "Associados listados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
     })
     public Mono<PageResponse<Associado>> listarTodosAssociados(
         @RequestParam(defaultValue = "0") int page,
-        @RequestParam(defaultValue = "10") int size) {
+        @RequestParam(defaultValue = "10") int size,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Boolean ativo,
+        @RequestParam(defaultValue = "false") boolean contagemExata) {
         
-        logger.info("[listarTodosAssociados()] Listando todos os associados");
+        logger.info("[listarTodosAssociados()] Listando associados - page: {}, after: {}, size: {}, ativo: {}", page, after, size, ativo);
+
+        if (after != null) {
+            return associadoService.listarAssociadosAposCursor(after, size, ativo, contagemExata);
+        }
 
-        return associadoService.listarTodosAssociadosPaginado(page, size);
+        return associadoService.listarTodosAssociadosPaginado(page, size, ativo, contagemExata);
     }
     
     @GetMapping("/{id}")
@@ -75,7 +92,7 @@ public class AssociadoController {
     })
     public Mono<ResponseEntity<Associado>> buscarAssociadoPorCpf(@PathVariable String cpf) {
 
-        logger.info("[buscarAssociadoPorCpf()] Buscando associado com CPF: {}", cpf);
+        logger.info("[buscarAssociadoPorCpf()] Buscando associado por CPF");
 
         return associadoService.buscarAssociadoPorCpf(cpf)
                 .map(ResponseEntity::ok)
@@ -92,9 +109,11 @@ public class AssociadoController {
     })
     public Mono<ResponseEntity<CpfValidator.CpfStatus>> verificarStatusCpf(@PathVariable String cpf) {
 
-        logger.info("[verificarStatusCpf()] Verificando status do CPF: {}", cpf);
+        logger.info("[verificarStatusCpf()] Verificando status de CPF");
         
-        return cpfValidator.validarCpf(cpf)
+        return Mono.justOrEmpty(Cpf.analisar(cpf))
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "CPF inválido")))
+                .flatMap(cpfValidator::validarCpf)
                 .flatMap(cpfStatus -> {
                     if (ABLE_TO_VOTE.equals(cpfStatus.status())) {
                         return Mono.just(ResponseEntity.ok(cpfStatus));
@@ -124,6 +143,31 @@ public class AssociadoController {
         return associadoService.criarAssociado(associadoDTO);
     }
     
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importa associados (NDJSON)",
+               description = "Recebe um fluxo NDJSON de associados ({\"cpf\": ...}) e cadastra os CPFs ainda inexistentes em lotes. " +
+                   "Devolve, em NDJSON, os erros por linha e o progresso após cada lote; o último evento traz o total da importação")
+    @ApiResponse(responseCode = "200", description = "Importação processada; os erros são informados por linha")
+    public Flux<AssociadoImportacaoDTO> importarAssociadosNdjson(@RequestBody Flux<AssociadoDTO> associados) {
+
+        logger.info("[importarAssociadosNdjson()] Recebendo importação de associados");
+
+        return associadoService.importarAssociados(associados
+            .map(associado -> associado.getCpf() != null ? associado.getCpf().trim() : ""));
+    }
+
+    @PostMapping(value = "/importacao", consumes = TEXT_CSV_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importa associados (CSV)",
+               description = "Recebe um CSV com os CPFs na primeira coluna (cabeçalho opcional) e cadastra os ainda inexistentes em lotes. " +
+                   "Devolve, em NDJSON, os erros por linha e o progresso após cada lote; o último evento traz o total da importação")
+    @ApiResponse(responseCode = "200", description = "Importação processada; os erros são informados por linha")
+    public Flux<AssociadoImportacaoDTO> importarAssociadosCsv(@RequestBody Flux<String> linhas) {
+
+        logger.info("[importarAssociadosCsv()] Recebendo importação de associados");
+
+        return associadoService.importarAssociadosCsv(linhas);
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Atualiza um associado",
                description = "Atualiza os dados de um associado existente")
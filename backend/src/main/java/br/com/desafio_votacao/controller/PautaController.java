@@ -30,13 +30,24 @@ public class PautaController {
     private final PautaService pautaService;
 
     @GetMapping
-    @Operation(summary = "Lista todas as pautas", description = "Retorna uma lista paginada com todas as pautas cadastradas no sistema")
-    @ApiResponse(responseCode = "200", description = "Pautas listadas com sucesso")
+    @Operation(summary = "Lista todas as pautas", description = "Retorna uma lista paginada com todas as pautas cadastradas no sistema, " +
+        "ordenada por data de criação. Informe `after` com o `nextCursor` da resposta anterior para paginar por cursor " +
+        "(custo constante em páginas profundas); o `totalElements` é uma estimativa atualizada periodicamente")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Pautas listadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
     public Mono<PageResponse<Pauta>> listarPautas(
         @RequestParam(defaultValue = "0") int page,
-        @RequestParam(defaultValue = "10") int size
+        @RequestParam(defaultValue = "10") int size,
+        @RequestParam(required = false) String after
     ) {
 
+        if (after != null) {
+            logger.info("[listarPautas()] Listando pautas - after: {}, size: {}", after, size);
+            return pautaService.listarPautasAposCursor(after, size);
+        }
+
         logger.info("[listarPautas()] Listando pautas - page: {}, size: {}", page, size);
 
         return pautaService.listarPautasPaginadas(page, size);
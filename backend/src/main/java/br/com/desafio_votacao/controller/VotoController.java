@@ -1,6 +1,8 @@
 package br.com.desafio_votacao.controller;
 
 import br.com.desafio_votacao.dto.VotoDTO;
+import br.com.desafio_votacao.dto.VotoExportacaoDTO;
+import br.com.desafio_votacao.dto.VotoLoteResultadoDTO;
 import br.com.desafio_votacao.model.Voto;
 import br.com.desafio_votacao.service.VotoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,8 +11,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -18,6 +24,7 @@ import reactor.core.publisher.Mono;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 
+import java.time.Duration;
 import java.util.Map;
 
 @RestController
@@ -29,6 +36,10 @@ public class VotoController {
 
     private static final Logger logger = LoggerFactory.getLogger(VotoController.class);
 
+    private static final Duration INTERVALO_KEEP_ALIVE = Duration.ofSeconds(15);
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final VotoService votoService;
 
     @PostMapping
@@ -51,6 +62,19 @@ public class VotoController {
                 .map(voto -> ResponseEntity.status(HttpStatus.CREATED).body(voto));
     }
 
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Registra votos em lote", 
+               description = "Recebe um fluxo NDJSON de votos e devolve, também em NDJSON, o resultado de cada item")
+    @ApiResponse(responseCode = "200", description = "Lote processado; o status de cada voto é informado por item")
+    public Flux<VotoLoteResultadoDTO> registrarVotosEmLote(
+            @PathVariable String pautaId,
+            @RequestBody Flux<VotoDTO> votos) {
+
+        logger.info("[registrarVotosEmLote()] Recebendo lote de votos para pauta ID: {}", pautaId);
+
+        return votoService.registrarVotosEmLote(pautaId, votos);
+    }
+
     @GetMapping
     @Operation(summary = "Lista votos de uma pauta", description = "Retorna todos os votos registrados para uma pauta específica")
     @ApiResponse(responseCode = "200", description = "Votos listados com sucesso")
@@ -61,6 +85,44 @@ public class VotoController {
         return votoService.listarVotosPorPauta(pautaId);
     }
 
+    @GetMapping(value = "/exportacao", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exporta votos de uma pauta (NDJSON)", 
+               description = "Stream NDJSON com os votos da pauta em ordem de associado, apenas com os campos de auditoria. " +
+                   "Para retomar uma exportação interrompida, informe em `after` o último `associadoId` recebido")
+    @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso")
+    public Flux<VotoExportacaoDTO> exportarVotosNdjson(
+            @PathVariable String pautaId,
+            @RequestParam(required = false) String after) {
+
+        logger.info("[exportarVotosNdjson()] Exportando votos da pauta ID: {} após: {}", pautaId, after);
+
+        return votoService.exportarVotosPorPauta(pautaId, after);
+    }
+
+    @GetMapping(value = "/exportacao", produces = TEXT_CSV_VALUE)
+    @Operation(summary = "Exporta votos de uma pauta (CSV)", 
+               description = "Stream CSV com os votos da pauta em ordem de associado. O cabeçalho só é enviado no início; " +
+                   "com `after`, as linhas seguintes podem ser anexadas ao arquivo já recebido")
+    @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso")
+    public ResponseEntity<Flux<String>> exportarVotosCsv(
+            @PathVariable String pautaId,
+            @RequestParam(required = false) String after) {
+
+        logger.info("[exportarVotosCsv()] Exportando votos da pauta ID: {} após: {}", pautaId, after);
+
+        Flux<String> linhas = votoService.exportarVotosPorPauta(pautaId, after)
+            .map(VotoExportacaoDTO::paraLinhaCsv);
+        if (after == null) {
+            linhas = linhas.startWith(VotoExportacaoDTO.CABECALHO_CSV);
+        }
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("votos-" + pautaId + ".csv").build().toString())
+            .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+            .body(linhas);
+    }
+
     @GetMapping("/resultado")
     @Operation(summary = "Obter resultado da votação", description = "Retorna a contabilização dos votos de uma pauta")
     @ApiResponse(responseCode = "200", description = "Resultado obtido com sucesso")
@@ -70,4 +132,28 @@ public class VotoController {
 
         return votoService.contabilizarVotosPorPauta(pautaId);
     }
+
+    @GetMapping(value = "/resultado/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar resultado da votação", 
+               description = "Stream (SSE) com o resultado atual e suas atualizações; o evento 'encerramento' traz o resultado final")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stream iniciado com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Pauta não encontrada")
+    })
+    public Flux<ServerSentEvent<Map<String, Long>>> acompanharResultado(@PathVariable String pautaId) {
+
+        logger.info("[acompanharResultado()] Acompanhando resultado da votação para pauta ID: {}", pautaId);
+
+        Flux<ServerSentEvent<Map<String, Long>>> eventos = votoService.acompanharResultado(pautaId)
+            .map(atualizacao -> ServerSentEvent.builder(atualizacao.resultado())
+                .event(atualizacao.encerrada() ? "encerramento" : "resultado")
+                .build());
+
+        // Comentários periódicos mantêm a conexão aberta em proxies enquanto não há votos
+        return eventos.publish(compartilhados -> Flux.merge(
+            compartilhados,
+            Flux.interval(INTERVALO_KEEP_ALIVE)
+                .map(tick -> ServerSentEvent.<Map<String, Long>>builder().comment("keep-alive").build())
+                .takeUntilOther(compartilhados.ignoreElements())));
+    }
 }
@@ -0,0 +1,40 @@
+package br.com.desafio_votacao.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Evento da importação de associados: o erro de uma linha ou o progresso acumulado após um lote.
+ *
+ * @param tipo {@code ERRO}, {@code PROGRESSO} (após cada lote) ou {@code CONCLUIDO} (último evento)
+ * @param linha posição do CPF na importação (a partir de 0, sem cabeçalho e linhas em branco), nos erros
+ * @param cpf CPF informado na linha, nos erros
+ * @param status código HTTP equivalente ao cadastro individual (400, 409), nos erros
+ * @param mensagem descrição do erro
+ * @param processados linhas processadas até o momento
+ * @param cadastrados associados cadastrados até o momento
+ * @param existentes CPFs que já estavam cadastrados
+ * @param rejeitados linhas rejeitadas (formato inválido ou CPF repetido na importação)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AssociadoImportacaoDTO(
+    String tipo,
+    Long linha,
+    String cpf,
+    Integer status,
+    String mensagem,
+    Long processados,
+    Long cadastrados,
+    Long existentes,
+    Long rejeitados
+) {
+
+    public static AssociadoImportacaoDTO erro(long linha, String cpf, int status, String mensagem) {
+        return new AssociadoImportacaoDTO("ERRO", linha, cpf, status, mensagem, null, null, null, null);
+    }
+
+    public static AssociadoImportacaoDTO progresso(boolean concluido, long processados, long cadastrados,
+            long existentes, long rejeitados) {
+        return new AssociadoImportacaoDTO(concluido ? "CONCLUIDO" : "PROGRESSO", null, null, null, null,
+            processados, cadastrados, existentes, rejeitados);
+    }
+}
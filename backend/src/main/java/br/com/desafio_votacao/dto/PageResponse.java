@@ -2,9 +2,21 @@ package br.com.desafio_votacao.dto;
 
 import java.util.List;
 
+/**
+ * Página de resultados.
+ *
+ * @param nextCursor ID do último item da página, a ser enviado em {@code after} para buscar a
+ *                   próxima página por cursor; nulo quando não há mais itens
+ */
 public record PageResponse<T>(
     List<T> content,
     int page,
     int size,
-    long totalElements
-) {}
+    long totalElements,
+    String nextCursor
+) {
+
+    public PageResponse(List<T> content, int page, int size, long totalElements) {
+        this(content, page, size, totalElements, null);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.desafio_votacao.dto;
+
+import java.util.Map;
+
+/**
+ * Atualização do resultado de uma pauta enviada no stream de resultados.
+ *
+ * @param resultado contadores com as chaves {@code sim}, {@code nao} e {@code total}
+ * @param encerrada true na última atualização, emitida quando a sessão da pauta é fechada
+ */
+public record ResultadoAtualizacaoDTO(
+    Map<String, Long> resultado,
+    boolean encerrada
+) {}
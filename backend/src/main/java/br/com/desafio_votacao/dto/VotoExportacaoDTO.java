@@ -0,0 +1,39 @@
+package br.com.desafio_votacao.dto;
+
+import br.com.desafio_votacao.enums.VotoOpcao;
+
+import java.time.LocalDateTime;
+
+/**
+ * Voto exportado para auditoria, com apenas os campos necessários.
+ *
+ * @param associadoId ID do associado; também é o cursor para retomar a exportação ({@code after})
+ * @param opcaoVoto opção votada
+ * @param dataRegistro data de registro do voto
+ */
+public record VotoExportacaoDTO(
+    String associadoId,
+    VotoOpcao opcaoVoto,
+    LocalDateTime dataRegistro
+) {
+
+    public static final String CABECALHO_CSV = "associadoId,opcaoVoto,dataRegistro\n";
+
+    /**
+     * @return o voto como uma linha CSV terminada em quebra de linha
+     */
+    public String paraLinhaCsv() {
+        return campoCsv(associadoId) + ',' + (opcaoVoto != null ? opcaoVoto : "") + ','
+            + (dataRegistro != null ? dataRegistro : "") + '\n';
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.desafio_votacao.dto;
+
+/**
+ * Resultado de um item do envio de votos em lote.
+ *
+ * @param indice posição do voto no corpo da requisição (a partir de 0)
+ * @param associadoId ID do associado informado no item
+ * @param status código HTTP equivalente ao registro individual (201, 400, 403, 404, 409...)
+ * @param mensagem descrição do erro, quando houver
+ * @param votoId ID do voto gravado, quando aceito
+ */
+public record VotoLoteResultadoDTO(
+    long indice,
+    String associadoId,
+    int status,
+    String mensagem,
+    String votoId
+) {}
@@ -0,0 +1,25 @@
+package br.com.desafio_votacao.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint {@code /actuator/jfr}: resumo dos eventos JFR da janela recente (taxa de alocação,
+ * pausas de GC, votos mais lentos e varreduras de sessões), veja {@link JfrMonitor}.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private final JfrMonitor jfrMonitor;
+
+    public JfrEndpoint(JfrMonitor jfrMonitor) {
+        this.jfrMonitor = jfrMonitor;
+    }
+
+    @ReadOperation
+    public JfrMonitor.ResumoJfr resumo() {
+        return jfrMonitor.resumo();
+    }
+}
@@ -0,0 +1,240 @@
+package br.com.desafio_votacao.jfr;
+
+import br.com.desafio_votacao.scheduler.VarreduraSessoesEvento;
+import br.com.desafio_votacao.service.VotoEvento;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Consome, na própria aplicação, os eventos do Java Flight Recorder (JFR event streaming) e
+ * mantém um resumo da janela recente: taxa de alocação (amostras de
+ * {@code jdk.ObjectAllocationSample}), pausas de GC ({@code jdk.GarbageCollection}), os votos
+ * mais lentos ({@link VotoEvento}) e as varreduras de sessões ({@link VarreduraSessoesEvento}).
+ *
+ * A gravação fica apenas em memória e é iniciada quando a aplicação sobe, se
+ * {@code votacao.jfr.habilitado=true}. O resumo é exposto em {@code /actuator/jfr}.
+ */
+@Component
+public class JfrMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrMonitor.class);
+
+    /** Duração de cada intervalo agregado da janela */
+    private static final Duration INTERVALO = Duration.ofSeconds(10);
+
+    /** Máximo de votos mantidos para o ranking dos mais lentos (os mais antigos são descartados) */
+    private static final int CAPACIDADE_VOTOS = 10_000;
+
+    private static final List<String> ETAPAS = List.of("associado", "sessao", "cpf", "gravacao");
+
+    private final boolean habilitado;
+    private final Duration janela;
+    private final Duration limiteVoto;
+    private final int votosLentos;
+
+    private final Deque<Intervalo> intervalos = new ArrayDeque<>();
+    private final Deque<VotoLento> votos = new ArrayDeque<>();
+    private final Deque<Varredura> varreduras = new ArrayDeque<>();
+    private RecordingStream stream;
+    private Instant inicio;
+
+    public JfrMonitor(
+            @Value("${votacao.jfr.habilitado:true}") boolean habilitado,
+            @Value("${votacao.jfr.janela:5m}") Duration janela,
+            @Value("${votacao.jfr.limite-voto:300ms}") Duration limiteVoto,
+            @Value("${votacao.jfr.votos-lentos:20}") int votosLentos) {
+        this.habilitado = habilitado;
+        this.janela = janela;
+        this.limiteVoto = limiteVoto;
+        this.votosLentos = votosLentos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (!habilitado || stream != null) {
+            return;
+        }
+        RecordingStream recordingStream = new RecordingStream();
+        recordingStream.enable("jdk.ObjectAllocationSample").with("throttle", "100/s");
+        recordingStream.enable("jdk.GarbageCollection");
+        recordingStream.enable(VotoEvento.NOME).withThreshold(limiteVoto);
+        recordingStream.enable(VarreduraSessoesEvento.NOME);
+        recordingStream.setMaxAge(INTERVALO);
+
+        recordingStream.onEvent("jdk.ObjectAllocationSample", this::registrarAlocacao);
+        recordingStream.onEvent("jdk.GarbageCollection", this::registrarColeta);
+        recordingStream.onEvent(VotoEvento.NOME, this::registrarVoto);
+        recordingStream.onEvent(VarreduraSessoesEvento.NOME, this::registrarVarredura);
+        recordingStream.onError(error -> logger.error("Erro no consumo dos eventos JFR", error));
+
+        recordingStream.startAsync();
+        stream = recordingStream;
+        inicio = Instant.now();
+        logger.info("Monitor JFR iniciado (janela de {}, votos acima de {})", janela, limiteVoto);
+    }
+
+    @PreDestroy
+    public synchronized void encerrar() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    /**
+     * @return resumo dos eventos da janela recente
+     */
+    public synchronized ResumoJfr resumo() {
+        if (stream == null) {
+            return new ResumoJfr(false, 0, null, null, List.of(), List.of());
+        }
+        Instant agora = Instant.now();
+        descartarAntigos(agora);
+
+        long bytes = 0;
+        long amostras = 0;
+        long coletas = 0;
+        long pausaTotal = 0;
+        long pausaMaxima = 0;
+        for (Intervalo intervalo : intervalos) {
+            bytes += intervalo.bytesAlocados;
+            amostras += intervalo.amostras;
+            coletas += intervalo.coletas;
+            pausaTotal += intervalo.pausaTotalNanos;
+            pausaMaxima = Math.max(pausaMaxima, intervalo.pausaMaximaNanos);
+        }
+        Instant inicioJanela = agora.minus(janela).isAfter(inicio) ? agora.minus(janela) : inicio;
+        double segundos = Math.max(1, Duration.between(inicioJanela, agora).toMillis()) / 1000.0;
+
+        List<VotoLento> maisLentos = votos.stream()
+            .sorted(Comparator.comparingDouble(VotoLento::duracaoMs).reversed())
+            .limit(votosLentos)
+            .toList();
+
+        return new ResumoJfr(true, janela.toSeconds(),
+            new Alocacao(bytes / segundos, amostras),
+            new Gc(coletas, pausaTotal / 1e6, pausaMaxima / 1e6),
+            maisLentos,
+            List.copyOf(varreduras));
+    }
+
+    private synchronized void registrarAlocacao(RecordedEvent event) {
+        Intervalo intervalo = intervalo(event.getEndTime());
+        intervalo.bytesAlocados += event.getLong("weight");
+        intervalo.amostras++;
+    }
+
+    private synchronized void registrarColeta(RecordedEvent event) {
+        Intervalo intervalo = intervalo(event.getEndTime());
+        long pausa = event.getDuration("sumOfPauses").toNanos();
+        intervalo.coletas++;
+        intervalo.pausaTotalNanos += pausa;
+        intervalo.pausaMaximaNanos = Math.max(intervalo.pausaMaximaNanos, event.getDuration("longestPause").toNanos());
+    }
+
+    private void registrarVoto(RecordedEvent event) {
+        // Leitura do evento fora do lock, disputado com as consultas do resumo
+        Map<String, Double> etapas = new LinkedHashMap<>();
+        for (String etapa : ETAPAS) {
+            etapas.put(etapa, event.getLong(etapa) / 1e6);
+        }
+        VotoLento voto = new VotoLento(event.getString("pautaId"), event.getString("resultado"),
+            event.getDuration().toNanos() / 1e6, etapas, event.getStartTime());
+
+        synchronized (this) {
+            votos.addLast(voto);
+            if (votos.size() > CAPACIDADE_VOTOS) {
+                votos.removeFirst();
+            }
+            descartarAntigos(event.getEndTime());
+        }
+    }
+
+    private synchronized void registrarVarredura(RecordedEvent event) {
+        varreduras.addLast(new Varredura(event.getStartTime(), event.getDuration().toNanos() / 1e6,
+            event.getBoolean("lider"), event.getLong("sessoesFechadas"), event.getString("erro")));
+        descartarAntigos(event.getEndTime());
+    }
+
+    private Intervalo intervalo(Instant instante) {
+        long inicioIntervalo = instante.toEpochMilli() / INTERVALO.toMillis() * INTERVALO.toMillis();
+        Intervalo ultimo = intervalos.peekLast();
+        if (ultimo != null && ultimo.inicioMillis >= inicioIntervalo) {
+            return ultimo;
+        }
+        Intervalo novo = new Intervalo(inicioIntervalo);
+        intervalos.addLast(novo);
+        descartarAntigos(instante);
+        return novo;
+    }
+
+    private void descartarAntigos(Instant agora) {
+        Instant limite = agora.minus(janela);
+        while (!intervalos.isEmpty()
+                && Instant.ofEpochMilli(intervalos.peekFirst().inicioMillis).plus(INTERVALO).isBefore(limite)) {
+            intervalos.removeFirst();
+        }
+        removerAntes(votos.iterator(), limite, VotoLento::instante);
+        removerAntes(varreduras.iterator(), limite, Varredura::instante);
+    }
+
+    private static <T> void removerAntes(Iterator<T> iterator, Instant limite, Function<T, Instant> instante) {
+        while (iterator.hasNext() && instante.apply(iterator.next()).isBefore(limite)) {
+            iterator.remove();
+        }
+    }
+
+    private static final class Intervalo {
+        private final long inicioMillis;
+        private long bytesAlocados;
+        private long amostras;
+        private long coletas;
+        private long pausaTotalNanos;
+        private long pausaMaximaNanos;
+
+        private Intervalo(long inicioMillis) {
+            this.inicioMillis = inicioMillis;
+        }
+    }
+
+    /**
+     * Resumo exibido em {@code /actuator/jfr} (durações em milissegundos).
+     */
+    public record ResumoJfr(
+        boolean habilitado,
+        long janelaSegundos,
+        Alocacao alocacao,
+        Gc gc,
+        List<VotoLento> votosMaisLentos,
+        List<Varredura> varreduras
+    ) {}
+
+    /**
+     * Taxa de alocação estimada pelas amostras de alocação do JFR.
+     */
+    public record Alocacao(double bytesPorSegundo, long amostras) {}
+
+    public record Gc(long coletas, double pausaTotalMs, double pausaMaximaMs) {}
+
+    public record VotoLento(String pautaId, String resultado, double duracaoMs, Map<String, Double> etapasMs, Instant instante) {}
+
+    public record Varredura(Instant instante, double duracaoMs, boolean lider, long sessoesFechadas, String erro) {}
+}
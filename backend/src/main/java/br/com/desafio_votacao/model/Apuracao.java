@@ -0,0 +1,36 @@
+package br.com.desafio_votacao.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Contadores de votos de uma pauta, incrementados a cada voto aceito.
+ * O ID do documento é o próprio ID da pauta. Ao fechar a sessão, os contadores são
+ * recalculados a partir dos votos e congelados ({@code encerrada}).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Document(collection = "apuracoes")
+public class Apuracao {
+    @Id
+    private String pautaId;
+    private long sim;
+    private long nao;
+    private boolean encerrada;
+    private LocalDateTime dataEncerramento;
+
+    public Apuracao(String pautaId, long sim, long nao) {
+        this(pautaId, sim, nao, false, null);
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.desafio_votacao.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -18,18 +19,20 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @ToString
 @Document(collection = "associados")
+@CompoundIndex(name = "ativo_id_idx", def = "{'ativo': 1, '_id': 1}")
 public class Associado {
     @Id
     private String id;
     
+    /** CPF armazenado como inteiro de 64 bits (NumberLong); ver {@link Cpf} */
     @Indexed(unique = true)
-    private String cpf;
+    private Cpf cpf;
     
     private LocalDateTime dataCadastro;
     
     private Boolean ativo;
 
-    public Associado(String cpf) {
+    public Associado(Cpf cpf) {
         this.cpf = cpf;
         this.dataCadastro = LocalDateTime.now();
         this.ativo = true;
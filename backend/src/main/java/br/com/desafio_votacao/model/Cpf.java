@@ -0,0 +1,211 @@
+package br.com.desafio_votacao.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Optional;
+
+/**
+ * CPF como valor numérico de 64 bits.
+ *
+ * O texto é analisado uma única vez, sem expressões regulares nem alocações: os caracteres que
+ * não são dígitos são ignorados e os dígitos verificadores são conferidos durante a leitura. No MongoDB
+ * o CPF é gravado como inteiro ({@code NumberLong}) pelos conversores de
+ * {@link br.com.desafio_votacao.config.MongoConfig}; no JSON continua sendo o texto com 11 dígitos.
+ */
+public final class Cpf implements Comparable<Cpf> {
+
+    private static final int DIGITOS = 11;
+    private static final long INVALIDO = -1;
+
+    private final long valor;
+
+    private Cpf(long valor) {
+        this.valor = valor;
+    }
+
+    /**
+     * @param texto CPF com ou sem formatação (ex.: {@code 123.456.789-09})
+     * @return o CPF
+     * @throws IllegalArgumentException se o texto não é um CPF válido
+     */
+    @JsonCreator
+    public static Cpf of(CharSequence texto) {
+        long valor = lerDigitos(texto);
+        if (valor == INVALIDO) {
+            throw new IllegalArgumentException("CPF inválido: " + texto);
+        }
+        return new Cpf(valor);
+    }
+
+    /**
+     * @param valor CPF como número (dígitos verificadores incluídos)
+     * @return o CPF
+     * @throws IllegalArgumentException se o número não é um CPF válido
+     */
+    public static Cpf of(long valor) {
+        if (valor < 0 || valor > 99_999_999_999L || !digitosValidos(valor)) {
+            throw new IllegalArgumentException("CPF inválido: " + valor);
+        }
+        return new Cpf(valor);
+    }
+
+    /**
+     * Recria o CPF a partir do valor gravado no banco, sem repetir a validação feita na gravação.
+     *
+     * @param valor CPF como número
+     * @return o CPF
+     */
+    public static Cpf armazenado(long valor) {
+        return new Cpf(valor);
+    }
+
+    /**
+     * Analisa o texto uma única vez, sem lançar exceção para CPFs inválidos.
+     *
+     * @param texto CPF com ou sem formatação
+     * @return o CPF, ou vazio se o texto não é um CPF válido
+     */
+    public static Optional<Cpf> analisar(CharSequence texto) {
+        long valor = lerDigitos(texto);
+        return valor == INVALIDO ? Optional.empty() : Optional.of(new Cpf(valor));
+    }
+
+    /**
+     * Valida o CPF sem criar objetos.
+     *
+     * @param texto CPF com ou sem formatação
+     * @return true se o texto é um CPF válido
+     */
+    public static boolean valido(CharSequence texto) {
+        return lerDigitos(texto) != INVALIDO;
+    }
+
+    /**
+     * Lê os dígitos do texto acumulando o valor e as somas dos dois dígitos verificadores.
+     *
+     * @return o valor numérico, ou {@link #INVALIDO}
+     */
+    private static long lerDigitos(CharSequence texto) {
+        if (texto == null) {
+            return INVALIDO;
+        }
+
+        long valor = 0;
+        int quantidade = 0;
+        int soma1 = 0;
+        int soma2 = 0;
+        int primeiro = -1;
+        boolean todosIguais = true;
+        int dv1 = 0;
+        int dv2 = 0;
+
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            // Como a normalização original (replaceAll("[^0-9]", "")), ignora qualquer caractere que não seja dígito
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            if (quantidade == DIGITOS) {
+                return INVALIDO;
+            }
+
+            int digito = c - '0';
+            if (primeiro < 0) {
+                primeiro = digito;
+            } else if (digito != primeiro) {
+                todosIguais = false;
+            }
+
+            if (quantidade < 9) {
+                soma1 += digito * (10 - quantidade);
+                soma2 += digito * (11 - quantidade);
+            } else if (quantidade == 9) {
+                dv1 = digito;
+                soma2 += digito * 2;
+            } else {
+                dv2 = digito;
+            }
+            valor = valor * 10 + digito;
+            quantidade++;
+        }
+
+        if (quantidade != DIGITOS || todosIguais
+                || dv1 != digitoVerificador(soma1) || dv2 != digitoVerificador(soma2)) {
+            return INVALIDO;
+        }
+        return valor;
+    }
+
+    private static boolean digitosValidos(long valor) {
+        int soma1 = 0;
+        int soma2 = 0;
+        long restante = valor / 100;
+        boolean todosIguais = true;
+        int ultimo = (int) (restante % 10);
+        for (int posicao = 8; posicao >= 0; posicao--) {
+            int digito = (int) (restante % 10);
+            todosIguais &= digito == ultimo;
+            soma1 += digito * (10 - posicao);
+            soma2 += digito * (11 - posicao);
+            restante /= 10;
+        }
+        int dv1 = (int) (valor / 10 % 10);
+        int dv2 = (int) (valor % 10);
+        soma2 += dv1 * 2;
+        todosIguais &= dv1 == ultimo && dv2 == ultimo;
+        return !todosIguais && dv1 == digitoVerificador(soma1) && dv2 == digitoVerificador(soma2);
+    }
+
+    private static int digitoVerificador(int soma) {
+        int digito = 11 - (soma % 11);
+        return digito >= 10 ? 0 : digito;
+    }
+
+    /**
+     * @return o CPF como número
+     */
+    public long valor() {
+        return valor;
+    }
+
+    /**
+     * @return o CPF com 11 dígitos, sem formatação
+     */
+    @JsonValue
+    @Override
+    public String toString() {
+        char[] digitos = new char[DIGITOS];
+        long restante = valor;
+        for (int i = DIGITOS - 1; i >= 0; i--) {
+            digitos[i] = (char) ('0' + restante % 10);
+            restante /= 10;
+        }
+        return new String(digitos);
+    }
+
+    /**
+     * CPF para logs, com apenas os dígitos centrais visíveis (ex.: {@code ***.456.789-**}).
+     *
+     * @return o CPF mascarado
+     */
+    public String mascarado() {
+        String digitos = toString();
+        return "***." + digitos.substring(3, 6) + "." + digitos.substring(6, 9) + "-**";
+    }
+
+    @Override
+    public int compareTo(Cpf outro) {
+        return Long.compare(valor, outro.valor);
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        return outro instanceof Cpf cpf && cpf.valor == valor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(valor);
+    }
+}
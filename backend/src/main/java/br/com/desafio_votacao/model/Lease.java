@@ -0,0 +1,30 @@
+package br.com.desafio_votacao.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Lease de liderança: apenas o dono de um lease válido executa a tarefa com o nome do lease.
+ * O token cresce a cada troca de dono e é usado como token de fencing nas escritas do líder.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Document(collection = "leases")
+public class Lease {
+    @Id
+    private String nome;
+    private String dono;
+    private long token;
+    private LocalDateTime expiraEm;
+}
@@ -1,6 +1,7 @@
 package br.com.desafio_votacao.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -16,6 +17,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @ToString
 @Document(collection = "pautas")
+@CompoundIndex(name = "sessao_aberta_fim_idx", def = "{'sessaoAberta': 1, 'fimSessao': 1}")
+@CompoundIndex(name = "data_criacao_id_idx", def = "{'dataCriacao': 1, '_id': 1}")
 public class Pauta {
     @Id
     private String id;
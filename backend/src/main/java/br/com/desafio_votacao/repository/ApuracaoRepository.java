@@ -0,0 +1,9 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Apuracao;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ApuracaoRepository extends ReactiveMongoRepository<Apuracao, String>, ApuracaoRepositoryCustom {
+}
@@ -0,0 +1,61 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Apuracao;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Atualizações atômicas dos contadores de votos que não são cobertas
+ * pelas queries derivadas do Spring Data.
+ */
+public interface ApuracaoRepositoryCustom {
+
+    /**
+     * Incrementa os contadores da pauta com um único upsert ({@code $inc}).
+     * Apurações encerradas não são alteradas.
+     *
+     * @param pautaId ID da pauta
+     * @param sim quantidade de votos SIM a somar
+     * @param nao quantidade de votos NAO a somar
+     * @return Mono com false se a apuração já estava encerrada e o incremento não foi aplicado
+     */
+    Mono<Boolean> incrementar(String pautaId, long sim, long nao);
+
+    /**
+     * Marca a apuração da pauta como encerrada, sem tocar os contadores: a partir da
+     * confirmação, nenhum {@code $inc} é aplicado a ela.
+     *
+     * @param pautaId ID da pauta
+     * @param dataEncerramento instante do encerramento
+     * @return Mono concluído após a confirmação do MongoDB
+     */
+    Mono<Void> congelar(String pautaId, LocalDateTime dataEncerramento);
+
+    /**
+     * Grava uma recontagem na apuração encerrada da pauta ({@code $max} em cada contador).
+     *
+     * @param pautaId ID da pauta
+     * @param sim votos SIM contados
+     * @param nao votos NAO contados
+     * @return Mono com a apuração atualizada (vazio se a apuração não está encerrada)
+     */
+    Mono<Apuracao> gravarContagem(String pautaId, long sim, long nao);
+
+    /**
+     * Conta os votos SIM e NAO da pauta com uma única agregação.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono com a apuração calculada (vazio se a pauta não tem votos)
+     */
+    Mono<Apuracao> contarVotos(String pautaId);
+
+    /**
+     * Recalcula e congela, a partir da coleção de votos, as apurações ainda não encerradas das
+     * pautas com sessão fechada, com uma única agregação executada no servidor sobre as pautas
+     * ({@code $lookup} + {@code $merge}). Apurações congeladas e sessões abertas não são lidas.
+     *
+     * @return Mono concluído após a gravação dos contadores
+     */
+    Mono<Void> reconstruir();
+}
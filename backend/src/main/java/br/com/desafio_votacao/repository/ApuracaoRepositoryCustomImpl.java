@@ -0,0 +1,131 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.model.Apuracao;
+import br.com.desafio_votacao.model.Pauta;
+import br.com.desafio_votacao.model.Voto;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ApuracaoRepositoryCustomImpl implements ApuracaoRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ApuracaoRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Boolean> incrementar(String pautaId, long sim, long nao) {
+        Update update = new Update()
+            .inc("sim", sim)
+            .inc("nao", nao);
+
+        Query query = Query.query(Criteria.where("_id").is(pautaId).and("encerrada").ne(true));
+
+        // Se a apuração já foi encerrada o filtro não encontra o documento e o upsert tenta inserir
+        // outro com o mesmo _id: o incremento não é aplicado
+        return mongoTemplate.upsert(query, update, Apuracao.class)
+            .thenReturn(true)
+            .onErrorResume(DuplicateKeyException.class, ex -> Mono.just(false));
+    }
+
+    @Override
+    public Mono<Void> congelar(String pautaId, LocalDateTime dataEncerramento) {
+        Query query = Query.query(Criteria.where("_id").is(pautaId));
+        Update update = new Update()
+            .set("encerrada", true)
+            .set("dataEncerramento", dataEncerramento)
+            .setOnInsert("sim", 0L)
+            .setOnInsert("nao", 0L);
+
+        return mongoTemplate.upsert(query, update, Apuracao.class).then();
+    }
+
+    @Override
+    public Mono<Apuracao> gravarContagem(String pautaId, long sim, long nao) {
+        // $max: os votos de uma pauta só aumentam, e uma recontagem mais antiga concluída por
+        // último não desfaz uma mais recente
+        Query query = Query.query(Criteria.where("_id").is(pautaId).and("encerrada").is(true));
+        Update update = new Update()
+            .max("sim", sim)
+            .max("nao", nao);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Apuracao.class);
+    }
+
+    @Override
+    public Mono<Apuracao> contarVotos(String pautaId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("pautaId").is(pautaId)),
+            agruparPorPauta());
+
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(Voto.class), Apuracao.class)
+            .next();
+    }
+
+    @Override
+    public Mono<Void> reconstruir() {
+        String votos = mongoTemplate.getCollectionName(Voto.class);
+        String apuracoes = mongoTemplate.getCollectionName(Apuracao.class);
+
+        // A partir das pautas com sessão já fechada e apuração não congelada: apenas essas leem
+        // a coleção de votos, e o resultado é gravado já congelado
+        List<Document> pipeline = List.of(
+            new Document("$match", new Document("sessaoAberta", new Document("$ne", true))
+                .append("fimSessao", new Document("$ne", null))),
+            new Document("$lookup", new Document("from", apuracoes)
+                .append("localField", "_id")
+                .append("foreignField", "_id")
+                .append("as", "apuracao")),
+            new Document("$match", new Document("apuracao.encerrada", new Document("$ne", true))),
+            new Document("$lookup", new Document("from", votos)
+                .append("let", new Document("pautaId", new Document("$toString", "$_id")))
+                .append("pipeline", List.of(
+                    new Document("$match", new Document("$expr", new Document("$eq", List.of("$pautaId", "$$pautaId")))),
+                    new Document("$group", new Document("_id", null)
+                        .append("sim", new Document("$sum", contarOpcaoDocumento(VotoOpcao.SIM)))
+                        .append("nao", new Document("$sum", contarOpcaoDocumento(VotoOpcao.NAO))))))
+                .append("as", "contagem")),
+            new Document("$project", new Document("_id", 1)
+                .append("sim", new Document("$ifNull", List.of(new Document("$arrayElemAt", List.of("$contagem.sim", 0)), 0)))
+                .append("nao", new Document("$ifNull", List.of(new Document("$arrayElemAt", List.of("$contagem.nao", 0)), 0)))
+                .append("encerrada", true)
+                .append("dataEncerramento", "$fimSessao")),
+            new Document("$merge", new Document("into", apuracoes)
+                .append("on", "_id")
+                .append("whenMatched", "merge")
+                .append("whenNotMatched", "insert")));
+
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Pauta.class))
+            .flatMap(colecao -> Mono.from(colecao.aggregate(pipeline).toCollection()));
+    }
+
+    private static GroupOperation agruparPorPauta() {
+        return Aggregation.group("pautaId")
+            .sum(contarOpcao(VotoOpcao.SIM)).as("sim")
+            .sum(contarOpcao(VotoOpcao.NAO)).as("nao");
+    }
+
+    private static Document contarOpcaoDocumento(VotoOpcao opcao) {
+        return new Document("$cond", List.of(new Document("$eq", List.of("$opcaoVoto", opcao.name())), 1, 0));
+    }
+
+    private static ConditionalOperators.Cond contarOpcao(VotoOpcao opcao) {
+        return ConditionalOperators.when(Criteria.where("opcaoVoto").is(opcao.name()))
+            .then(1)
+            .otherwise(0);
+    }
+}
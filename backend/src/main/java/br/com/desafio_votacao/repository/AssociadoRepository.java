@@ -1,13 +1,16 @@
 package br.com.desafio_votacao.repository;
 
 import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 
 @Repository
-public interface AssociadoRepository extends ReactiveMongoRepository<Associado, String> {
+public interface AssociadoRepository extends ReactiveMongoRepository<Associado, String>, AssociadoRepositoryCustom {
     
     /**
      * Busca um associado por CPF
@@ -15,7 +18,7 @@ public interface AssociadoRepository extends ReactiveMongoRepository<Associado,
      * @param cpf CPF do associado
      * @return Mono com o associado, se existir
      */
-    Mono<Associado> findByCpf(String cpf);
+    Mono<Associado> findByCpf(Cpf cpf);
     
     /**
      * Verifica se existe um associado com o CPF informado
@@ -23,5 +26,30 @@ public interface AssociadoRepository extends ReactiveMongoRepository<Associado,
      * @param cpf CPF a ser verificado
      * @return Mono com true se existir, false caso contrário
      */
-    Mono<Boolean> existsByCpf(String cpf);
+    Mono<Boolean> existsByCpf(Cpf cpf);
+
+    /**
+     * Busca uma página de associados, com skip/limit aplicados na consulta
+     *
+     * @param pageable página e ordenação
+     * @return Flux com os associados da página
+     */
+    Flux<Associado> findAllBy(Pageable pageable);
+
+    /**
+     * Busca uma página de associados ativos ou inativos
+     *
+     * @param ativo situação do associado
+     * @param pageable página e ordenação
+     * @return Flux com os associados da página
+     */
+    Flux<Associado> findByAtivo(Boolean ativo, Pageable pageable);
+
+    /**
+     * Conta os associados ativos ou inativos
+     *
+     * @param ativo situação do associado
+     * @return Mono com a quantidade de associados
+     */
+    Mono<Long> countByAtivo(Boolean ativo);
 }
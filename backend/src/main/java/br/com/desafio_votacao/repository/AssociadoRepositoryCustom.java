@@ -0,0 +1,62 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Paginação de associados por cursor (seek) sobre o {@code _id}, cadastro em lote e migração
+ * do formato de armazenamento do CPF.
+ */
+public interface AssociadoRepositoryCustom {
+
+    /**
+     * Busca os associados com {@code _id} maior que {@code after}, em ordem de {@code _id}.
+     * A consulta parte do índice ({@code _id}, ou {@code ativo_id_idx} quando filtrada), de
+     * modo que o custo não depende da profundidade da página.
+     *
+     * @param ativo filtro pela situação do associado (nulo para todos)
+     * @param after ID do último associado da página anterior (nulo para a primeira página)
+     * @param limite quantidade máxima de associados
+     * @return Flux com os associados da página
+     */
+    Flux<Associado> buscarApos(Boolean ativo, String after, int limite);
+
+    /**
+     * Cadastra os CPFs ainda inexistentes com um único bulk write não ordenado de upserts
+     * ({@code $setOnInsert}) sobre o índice único de CPF; CPFs já cadastrados não são alterados.
+     *
+     * @param cpfs CPFs a cadastrar, sem repetições
+     * @return Mono com as posições (na lista informada) dos CPFs efetivamente cadastrados
+     */
+    Mono<Set<Integer>> cadastrarSeAusentes(List<Cpf> cpfs);
+
+    /**
+     * Converte para NumberLong os CPFs ainda gravados como texto (formato anterior ao
+     * {@link Cpf}), com um único {@code updateMany} com pipeline executado no servidor.
+     * Valores que não podem ser convertidos são mantidos como estão; o conversor de leitura de
+     * texto os lê como CPF nulo.
+     *
+     * Como o índice único diferencia o texto do número, o mesmo CPF pode existir nos dois
+     * formatos (ex.: cadastrado durante a migração) ou repetido em textos com formatações
+     * diferentes. Esses registros são identificados antes da conversão e mantidos como texto,
+     * para resolução manual, em vez de fazer o {@code updateMany} falhar por chave duplicada.
+     *
+     * @return Mono com a quantidade de associados convertidos e os IDs dos conflitantes
+     * @throws org.springframework.dao.DuplicateKeyException (no Mono) se um conflito surgir
+     *         durante a conversão; uma nova execução o identifica
+     */
+    Mono<MigracaoCpfs> migrarCpfsTexto();
+
+    /**
+     * Resultado de {@link #migrarCpfsTexto()}.
+     *
+     * @param convertidos associados com o CPF convertido para número
+     * @param conflitantes IDs dos associados mantidos com CPF em texto por conflito de CPF
+     */
+    record MigracaoCpfs(long convertidos, List<String> conflitantes) {}
+}
@@ -0,0 +1,147 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.Filters;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.util.MongoDbErrorCodes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class AssociadoRepositoryCustomImpl implements AssociadoRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public AssociadoRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Associado> buscarApos(Boolean ativo, String after, int limite) {
+        Criteria criteria = new Criteria();
+        if (ativo != null) {
+            criteria.and("ativo").is(ativo);
+        }
+        if (after != null) {
+            criteria.and("_id").gt(after);
+        }
+
+        Query query = Query.query(criteria)
+            .with(Sort.by("_id"))
+            .limit(limite);
+
+        return mongoTemplate.find(query, Associado.class);
+    }
+
+    @Override
+    public Mono<Set<Integer>> cadastrarSeAusentes(List<Cpf> cpfs) {
+        if (cpfs.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        ReactiveBulkOperations operacoes = mongoTemplate.bulkOps(BulkMode.UNORDERED, Associado.class);
+        for (Cpf cpf : cpfs) {
+            operacoes.upsert(Query.query(Criteria.where("cpf").is(cpf)), new Update()
+                .setOnInsert("dataCadastro", agora)
+                .setOnInsert("ativo", true));
+        }
+
+        return operacoes.execute()
+            .map(AssociadoRepositoryCustomImpl::posicoesCadastradas)
+            .onErrorResume(ex -> {
+                // Upserts simultâneos do mesmo CPF (ex.: outra importação) falham no índice único: o CPF já existe
+                MongoBulkWriteException bulkWriteEx = extrairBulkWriteException(ex);
+                if (bulkWriteEx == null || bulkWriteEx.getWriteErrors().stream()
+                        .map(BulkWriteError::getCode)
+                        .anyMatch(codigo -> !MongoDbErrorCodes.isDuplicateKeyCode(codigo))) {
+                    return Mono.error(ex);
+                }
+                return Mono.just(posicoesCadastradas(bulkWriteEx.getWriteResult()));
+            });
+    }
+
+    @Override
+    public Mono<MigracaoCpfs> migrarCpfsTexto() {
+        // Mantém apenas os dígitos (como Cpf.of), e só converte o que restar com exatamente 11 dígitos
+        Document digitos = new Document("$reduce", new Document()
+            .append("input", new Document("$regexFindAll", new Document("input", "$cpf").append("regex", "[0-9]")))
+            .append("initialValue", "")
+            .append("in", new Document("$concat", List.of("$$value", "$$this.match"))));
+        Document numerico = new Document("$eq", List.of(new Document("$strLenCP", digitos), 11));
+        String nomeColecao = mongoTemplate.getCollectionName(Associado.class);
+
+        // Por CPF convertido: todos os registros em texto se o número já está cadastrado, senão todos menos o primeiro
+        List<Document> conflitos = List.of(
+            new Document("$match", new Document("cpf", new Document("$type", "string"))),
+            new Document("$match", new Document("$expr", numerico)),
+            new Document("$group", new Document("_id", new Document("$toLong", digitos))
+                .append("ids", new Document("$push", "$_id"))),
+            // Forma com let e pipeline (MongoDB 4.4+); localField/foreignField com pipeline exige 5.0
+            new Document("$lookup", new Document("from", nomeColecao)
+                .append("let", new Document("cpf", "$_id"))
+                .append("pipeline", List.of(
+                    new Document("$match", new Document("$expr", new Document("$eq", List.of("$cpf", "$$cpf")))),
+                    new Document("$limit", 1),
+                    new Document("$project", new Document("_id", 1))))
+                .append("as", "existentes")),
+            new Document("$project", new Document("conflitantes", new Document("$cond", List.of(
+                new Document("$gt", List.of(new Document("$size", "$existentes"), 0)),
+                "$ids",
+                new Document("$slice", List.of("$ids", 1, new Document("$size", "$ids"))))))),
+            new Document("$unwind", "$conflitantes"));
+
+        Document conversao = new Document("$cond", new Document()
+            .append("if", numerico)
+            .append("then", new Document("$toLong", digitos))
+            .append("else", "$cpf"));
+        List<Document> pipeline = List.of(new Document("$set", new Document("cpf", conversao)));
+
+        return mongoTemplate.getCollection(nomeColecao)
+            .flatMap(colecao -> Flux.from(colecao.aggregate(conflitos))
+                .map(conflito -> conflito.get("conflitantes"))
+                .collectList()
+                .flatMap(conflitantes -> Mono.from(colecao.updateMany(
+                        Filters.and(Filters.type("cpf", BsonType.STRING), Filters.nin("_id", conflitantes)), pipeline))
+                    .map(resultado -> new MigracaoCpfs(resultado.getModifiedCount(),
+                        conflitantes.stream().map(String::valueOf).toList()))))
+            .onErrorMap(MongoWriteException.class, ex -> ex.getError().getCategory() == ErrorCategory.DUPLICATE_KEY
+                ? new DuplicateKeyException("CPF convertido já cadastrado", ex)
+                : ex);
+    }
+
+    private static Set<Integer> posicoesCadastradas(BulkWriteResult resultado) {
+        return resultado.getUpserts().stream()
+            .map(BulkWriteUpsert::getIndex)
+            .collect(Collectors.toSet());
+    }
+
+    private static MongoBulkWriteException extrairBulkWriteException(Throwable ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof MongoBulkWriteException bulkWriteEx) {
+                return bulkWriteEx;
+            }
+        }
+        return null;
+    }
+}
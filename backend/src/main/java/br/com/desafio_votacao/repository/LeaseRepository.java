@@ -0,0 +1,9 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Lease;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LeaseRepository extends ReactiveMongoRepository<Lease, String>, LeaseRepositoryCustom {
+}
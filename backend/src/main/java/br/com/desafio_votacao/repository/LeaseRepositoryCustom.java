@@ -0,0 +1,32 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Lease;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Aquisição e renovação atômicas de leases de liderança.
+ */
+public interface LeaseRepositoryCustom {
+
+    /**
+     * Renova o lease se ele pertence ao dono informado e ainda é válido; caso contrário,
+     * assume o lease se ele estiver expirado (ou ainda não existir), incrementando o token.
+     *
+     * @param nome nome do lease
+     * @param dono identificador da instância
+     * @param duracao validade do lease a partir de agora
+     * @return Mono com o lease obtido (vazio se outra instância é a dona)
+     */
+    Mono<Lease> adquirir(String nome, String dono, Duration duracao);
+
+    /**
+     * Expira imediatamente o lease, se pertencer ao dono informado.
+     *
+     * @param nome nome do lease
+     * @param dono identificador da instância
+     * @return Mono concluído após a liberação
+     */
+    Mono<Void> liberar(String nome, String dono);
+}
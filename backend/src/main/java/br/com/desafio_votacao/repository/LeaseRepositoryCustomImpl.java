@@ -0,0 +1,52 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Lease;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class LeaseRepositoryCustomImpl implements LeaseRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public LeaseRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Lease> adquirir(String nome, String dono, Duration duracao) {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime expiraEm = agora.plus(duracao);
+
+        Query renovacao = Query.query(Criteria.where("_id").is(nome)
+            .and("dono").is(dono)
+            .and("expiraEm").gt(agora));
+
+        Query tomada = Query.query(Criteria.where("_id").is(nome).and("expiraEm").lte(agora));
+        Update novoDono = new Update()
+            .set("dono", dono)
+            .set("expiraEm", expiraEm)
+            .inc("token", 1);
+
+        return mongoTemplate.findAndModify(renovacao, new Update().set("expiraEm", expiraEm),
+                FindAndModifyOptions.options().returnNew(true), Lease.class)
+            .switchIfEmpty(Mono.defer(() -> mongoTemplate.findAndModify(tomada, novoDono,
+                    FindAndModifyOptions.options().returnNew(true).upsert(true), Lease.class)
+                // Lease válido de outra instância: o filtro não casa e o upsert colide com o _id existente
+                .onErrorResume(DuplicateKeyException.class, ex -> Mono.empty())));
+    }
+
+    @Override
+    public Mono<Void> liberar(String nome, String dono) {
+        Query query = Query.query(Criteria.where("_id").is(nome).and("dono").is(dono));
+        return mongoTemplate.updateFirst(query, new Update().set("expiraEm", LocalDateTime.now()), Lease.class)
+            .then();
+    }
+}
@@ -11,10 +11,12 @@ import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PautaRepository extends ReactiveMongoRepository<Pauta, String> {
+public interface PautaRepository extends ReactiveMongoRepository<Pauta, String>, PautaRepositoryCustom {
 
     Flux<Pauta> findBySessaoAbertaIsTrueAndFimSessaoBefore(LocalDateTime now);
 
+    Flux<Pauta> findBySessaoAbertaIsTrueAndFimSessaoAfter(LocalDateTime now);
+
     Flux<Pauta> findAllBy(Pageable pageable);
 
 }
@@ -0,0 +1,60 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Pauta;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transições atômicas da sessão de votação e paginação por cursor.
+ *
+ * Cada transição é um único {@code findAndModify} condicionado ao estado atual, de modo que
+ * instâncias concorrentes nunca sobrescrevem a pauta inteira umas das outras e cada
+ * abertura/fechamento é aplicado uma única vez.
+ */
+public interface PautaRepositoryCustom {
+
+    /**
+     * Abre a sessão se ela não estiver aberta.
+     *
+     * @param pautaId ID da pauta
+     * @param inicio início da sessão
+     * @param fim fim da sessão
+     * @return Mono com a pauta atualizada (vazio se a pauta não existe ou a sessão já está aberta)
+     */
+    Mono<Pauta> abrirSessao(String pautaId, LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Fecha a sessão da pauta se ela estiver aberta e expirada em {@code agora}. Como em
+     * {@link #fecharProximaSessaoExpirada}, a sessão expira no próprio instante de fim
+     * ({@code fimSessao <= agora}), o mesmo critério usado para rejeitar votos.
+     *
+     * @param pautaId ID da pauta
+     * @param agora instante de referência
+     * @return Mono com a pauta fechada (vazio se não havia o que fechar)
+     */
+    Mono<Pauta> fecharSessaoExpirada(String pautaId, LocalDateTime agora);
+
+    /**
+     * Fecha uma sessão qualquer aberta e expirada em {@code agora}, em nome do líder com o
+     * token informado. Pautas já fechadas por um líder com token maior (fencing) são ignoradas,
+     * de modo que um líder antigo que perdeu o lease não interfere no atual.
+     *
+     * @param agora instante de referência
+     * @param tokenLider token de fencing do lease de liderança
+     * @return Mono com a pauta fechada (vazio quando não há mais sessões expiradas)
+     */
+    Mono<Pauta> fecharProximaSessaoExpirada(LocalDateTime agora, long tokenLider);
+
+    /**
+     * Busca as pautas seguintes a {@code ultima} na ordenação {@code dataCriacao, _id}
+     * (paginação por cursor). A consulta parte do índice {@code data_criacao_id_idx}, de modo
+     * que o custo não depende da profundidade da página.
+     *
+     * @param ultima última pauta da página anterior
+     * @param limite quantidade máxima de pautas
+     * @return Flux com as pautas da página
+     */
+    Flux<Pauta> buscarApos(Pauta ultima, int limite);
+}
@@ -0,0 +1,78 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Pauta;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public class PautaRepositoryCustomImpl implements PautaRepositoryCustom {
+
+    /**
+     * Token do último líder que fechou a sessão da pauta; existe apenas no documento.
+     */
+    static final String CAMPO_TOKEN_FECHAMENTO = "tokenFechamento";
+
+    /**
+     * Ordenação estável das listagens: a data de criação pode se repetir, o {@code _id} desempata.
+     */
+    public static final Sort ORDENACAO_LISTAGEM = Sort.by("dataCriacao", "_id");
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public PautaRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Pauta> abrirSessao(String pautaId, LocalDateTime inicio, LocalDateTime fim) {
+        Query query = Query.query(Criteria.where("_id").is(pautaId).and("sessaoAberta").ne(true));
+        Update update = new Update()
+            .set("sessaoAberta", true)
+            .set("inicioSessao", inicio)
+            .set("fimSessao", fim);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Pauta.class);
+    }
+
+    @Override
+    public Mono<Pauta> fecharSessaoExpirada(String pautaId, LocalDateTime agora) {
+        Query query = Query.query(Criteria.where("_id").is(pautaId)
+            .and("sessaoAberta").is(true)
+            .and("fimSessao").lte(agora));
+
+        return mongoTemplate.findAndModify(query, new Update().set("sessaoAberta", false),
+            FindAndModifyOptions.options().returnNew(true), Pauta.class);
+    }
+
+    @Override
+    public Mono<Pauta> fecharProximaSessaoExpirada(LocalDateTime agora, long tokenLider) {
+        Query query = Query.query(Criteria.where("sessaoAberta").is(true)
+            .and("fimSessao").lte(agora)
+            .orOperator(
+                Criteria.where(CAMPO_TOKEN_FECHAMENTO).exists(false),
+                Criteria.where(CAMPO_TOKEN_FECHAMENTO).lte(tokenLider)));
+        Update update = new Update()
+            .set("sessaoAberta", false)
+            .set(CAMPO_TOKEN_FECHAMENTO, tokenLider);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Pauta.class);
+    }
+
+    @Override
+    public Flux<Pauta> buscarApos(Pauta ultima, int limite) {
+        Query query = Query.query(new Criteria().orOperator(
+                Criteria.where("dataCriacao").gt(ultima.getDataCriacao()),
+                Criteria.where("dataCriacao").is(ultima.getDataCriacao()).and("_id").gt(ultima.getId())))
+            .with(ORDENACAO_LISTAGEM)
+            .limit(limite);
+
+        return mongoTemplate.find(query, Pauta.class);
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Voto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Operações em lote sobre a coleção de votos que não são cobertas pelas queries
+ * derivadas do Spring Data.
+ */
+public interface VotoRepositoryCustom {
+
+    /**
+     * Insere os votos com um único bulk write não ordenado.
+     * Os votos sem ID recebem um ObjectId antes do envio.
+     *
+     * @param votos votos a serem inseridos
+     * @return Mono com as posições (na lista informada) dos votos rejeitados pelo índice único pauta/associado
+     */
+    Mono<Set<Integer>> inserirEmLote(List<Voto> votos);
+
+    /**
+     * Lê os votos da pauta em ordem de associado, com apenas os campos exportados
+     * ({@code associadoId}, {@code opcaoVoto} e {@code dataRegistro}). A ordenação segue o
+     * índice único {@code pauta_associado_idx}, sem ordenação em memória, e o cursor busca no
+     * máximo {@code tamanhoLote} documentos por vez conforme a demanda do consumidor.
+     *
+     * @param pautaId ID da pauta
+     * @param aposAssociadoId retoma a leitura após este associado (nulo para o início)
+     * @param tamanhoLote quantidade de documentos por lote do cursor
+     * @return Flux com os votos projetados
+     */
+    Flux<Voto> buscarParaExportacao(String pautaId, String aposAssociadoId, int tamanhoLote);
+}
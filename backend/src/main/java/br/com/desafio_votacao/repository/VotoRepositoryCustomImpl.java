@@ -0,0 +1,86 @@
+package br.com.desafio_votacao.repository;
+
+import br.com.desafio_votacao.model.Voto;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.util.MongoDbErrorCodes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class VotoRepositoryCustomImpl implements VotoRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public VotoRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Set<Integer>> inserirEmLote(List<Voto> votos) {
+        if (votos.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+
+        votos.stream()
+            .filter(voto -> voto.getId() == null)
+            .forEach(voto -> voto.setId(new ObjectId().toHexString()));
+
+        return mongoTemplate.bulkOps(BulkMode.UNORDERED, Voto.class)
+            .insert(votos)
+            .execute()
+            .map(resultado -> Set.<Integer>of())
+            .onErrorResume(ex -> {
+                List<BulkWriteError> erros = extrairErros(ex);
+                if (erros == null || erros.stream().anyMatch(erro -> !MongoDbErrorCodes.isDuplicateKeyCode(erro.getCode()))) {
+                    return Mono.error(ex);
+                }
+
+                Set<Integer> duplicados = new HashSet<>();
+                erros.forEach(erro -> duplicados.add(erro.getIndex()));
+                return Mono.just(duplicados);
+            });
+    }
+
+    @Override
+    public Flux<Voto> buscarParaExportacao(String pautaId, String aposAssociadoId, int tamanhoLote) {
+        Criteria criteria = Criteria.where("pautaId").is(pautaId);
+        if (aposAssociadoId != null) {
+            criteria.and("associadoId").gt(aposAssociadoId);
+        }
+
+        Query query = Query.query(criteria)
+            .with(Sort.by("pautaId", "associadoId"))
+            .cursorBatchSize(tamanhoLote);
+        query.fields().include("associadoId", "opcaoVoto", "dataRegistro").exclude("_id");
+
+        return mongoTemplate.find(query, Voto.class);
+    }
+
+    /**
+     * O tradutor de exceções do Spring converte falhas de chave duplicada em
+     * DuplicateKeyException (mantendo a MongoBulkWriteException como causa) e as
+     * demais em BulkOperationException; os erros por item são lidos de ambas.
+     */
+    private List<BulkWriteError> extrairErros(Throwable ex) {
+        if (ex instanceof BulkOperationException bulkEx) {
+            return bulkEx.getErrors();
+        }
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof MongoBulkWriteException bulkWriteEx) {
+                return bulkWriteEx.getWriteErrors();
+            }
+        }
+        return null;
+    }
+}
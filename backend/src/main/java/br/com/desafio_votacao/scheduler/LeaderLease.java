@@ -0,0 +1,135 @@
+package br.com.desafio_votacao.scheduler;
+
+import br.com.desafio_votacao.model.Lease;
+import br.com.desafio_votacao.repository.LeaseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Eleição de líder entre as instâncias da API por meio de um lease no MongoDB.
+ *
+ * Cada instância tenta adquirir/renovar o lease periodicamente; apenas a dona de um lease
+ * válido é líder. A validade local é contada a partir do instante anterior à requisição e
+ * descontada de uma margem, para que a instância deixe de se considerar líder antes que
+ * outra possa assumir (assumindo relógios sincronizados dentro dessa margem). O token de
+ * fencing deve acompanhar as escritas feitas em nome do líder.
+ */
+@Component
+public class LeaderLease {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderLease.class);
+
+    private final LeaseRepository leaseRepository;
+    private final String nome;
+    private final String dono;
+    private final Duration duracao;
+    private final Duration margem;
+    private final Disposable renovacao;
+
+    private volatile Lease lease;
+    private volatile long validoAteNanos;
+
+    public LeaderLease(
+            LeaseRepository leaseRepository,
+            MeterRegistry meterRegistry,
+            @Value("${votacao.lease.nome:fechamento-sessoes}") String nome,
+            @Value("${votacao.lease.duracao:30s}") Duration duracao,
+            @Value("${votacao.lease.renovacao:10s}") Duration intervaloRenovacao) {
+        this.leaseRepository = leaseRepository;
+        this.nome = nome;
+        this.dono = identificarInstancia();
+        this.duracao = duracao;
+        this.margem = duracao.dividedBy(10);
+
+        Gauge.builder("votacao.lease.lider", this, lider -> lider.token().isPresent() ? 1 : 0)
+            .description("1 se esta instância é a líder do lease")
+            .tag("lease", nome)
+            .register(meterRegistry);
+
+        this.renovacao = Flux.interval(Duration.ZERO, intervaloRenovacao)
+            .onBackpressureDrop()
+            .concatMap(tick -> renovar()
+                .onErrorResume(error -> {
+                    logger.warn("Erro ao renovar o lease {}: {}", nome, error.getMessage());
+                    return Mono.empty();
+                }))
+            .subscribe();
+    }
+
+    /**
+     * Adquire ou renova o lease, atualizando o estado de liderança desta instância.
+     *
+     * @return Mono concluído após a tentativa
+     */
+    Mono<Void> renovar() {
+        long inicio = System.nanoTime();
+        return leaseRepository.adquirir(nome, dono, duracao)
+            .doOnNext(obtido -> {
+                if (lease == null || lease.getToken() != obtido.getToken()) {
+                    logger.info("Instância {} assumiu o lease {} (token {})", dono, nome, obtido.getToken());
+                }
+                validoAteNanos = inicio + duracao.minus(margem).toNanos();
+                lease = obtido;
+            })
+            .switchIfEmpty(Mono.fromRunnable(() -> {
+                if (lease != null) {
+                    logger.info("Instância {} perdeu o lease {}", dono, nome);
+                }
+                lease = null;
+            }))
+            .then();
+    }
+
+    /**
+     * @return o token de fencing se esta instância é a líder, ou vazio
+     */
+    public OptionalLong token() {
+        Lease atual = lease;
+        if (atual == null || System.nanoTime() - validoAteNanos > 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(atual.getToken());
+    }
+
+    /**
+     * Libera o lease no desligamento, para que outra instância assuma sem esperar a expiração.
+     */
+    @PreDestroy
+    public void liberar() {
+        renovacao.dispose();
+        if (lease == null) {
+            return;
+        }
+        try {
+            leaseRepository.liberar(nome, dono).block(Duration.ofSeconds(2));
+            logger.info("Lease {} liberado pela instância {}", nome, dono);
+        } catch (RuntimeException ex) {
+            logger.warn("Não foi possível liberar o lease {}: {}", nome, ex.getMessage());
+        }
+        lease = null;
+    }
+
+    private static String identificarInstancia() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "desconhecido";
+        }
+        return host + ":" + UUID.randomUUID();
+    }
+}
@@ -1,14 +1,19 @@
 package br.com.desafio_votacao.scheduler;
 
+import br.com.desafio_votacao.service.ApuracaoService;
 import br.com.desafio_votacao.service.PautaService;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.OptionalLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -16,21 +21,69 @@ public class SessaoScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(SessaoScheduler.class);
     private final PautaService pautaService;
+    private final ApuracaoService apuracaoService;
+    private final LeaderLease leaderLease;
 
-    public SessaoScheduler(PautaService pautaService) {
+    /**
+     * As sessões são fechadas no prazo pela {@link SessaoTimerWheel}; a varredura periódica
+     * ({@code scheduling.pauta-check}, em ms) é apenas uma rede de segurança e pode ser pouco frequente.
+     * Com várias instâncias, apenas a líder ({@link LeaderLease}) executa a varredura.
+     */
+    public SessaoScheduler(
+            PautaService pautaService,
+            ApuracaoService apuracaoService,
+            LeaderLease leaderLease,
+            @Value("${scheduling.pauta-check:300000}") long intervaloVerificacao) {
         this.pautaService = pautaService;
+        this.apuracaoService = apuracaoService;
+        this.leaderLease = leaderLease;
 
-        Flux.interval(Duration.ZERO, Duration.ofSeconds(30))
-            .concatMap(tick -> fecharSessoes())
+        Flux.interval(Duration.ZERO, Duration.ofMillis(intervaloVerificacao))
+            .onBackpressureDrop()
+            .concatMap(tick -> fecharSessoes()
+                .onErrorResume(error -> {
+                    logger.error("Erro ao fechar sessões expiradas", error);
+                    return Mono.empty();
+                }))
             .subscribe(
                 success -> logger.info("Sessões expiradas fechadas com sucesso"),
                 error -> logger.error("Erro ao fechar sessões expiradas", error)
             );
     }
 
+    /**
+     * Reconstrói as apurações a partir dos votos e carrega as sessões abertas no
+     * registro em memória assim que a aplicação sobe.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarSessoesAbertas() {
+        apuracaoService.reconstruir()
+            .then(pautaService.carregarSessoesAbertas())
+            .subscribe(
+                null,
+                error -> logger.error("Erro ao carregar sessões abertas", error)
+            );
+    }
+
+    /**
+     * Executa uma varredura, registrada no JFR como {@link VarreduraSessoesEvento}.
+     */
     private Mono<Void> fecharSessoes() {
+        VarreduraSessoesEvento evento = new VarreduraSessoesEvento();
+        evento.begin();
+        OptionalLong token = leaderLease.token();
+        if (token.isEmpty()) {
+            logger.debug("Instância não é líder; varredura de sessões ignorada");
+            evento.commit();
+            return Mono.empty();
+        }
         logger.info("Verificando sessões para fechar...");
-        return pautaService.fecharSessoesExpiradas();
+        evento.lider = true;
+        return pautaService.fecharSessoesExpiradas(token.getAsLong())
+            .doOnSuccess(total -> evento.sessoesFechadas = total != null ? total : 0)
+            .doOnError(error -> evento.erro = error.getMessage())
+            .doFinally(sinal -> evento.commit())
+            .then();
     }
 }
 
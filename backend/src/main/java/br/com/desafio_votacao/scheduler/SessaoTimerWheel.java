@@ -0,0 +1,98 @@
+package br.com.desafio_votacao.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agenda o fechamento de cada sessão no instante exato de {@code fimSessao}.
+ *
+ * Usa uma roda de temporização ({@link HashedWheelTimer}): agendar e cancelar custam O(1)
+ * e uma única thread dispara todos os prazos, com precisão igual à duração do tick.
+ * A tarefa agendada não deve bloquear essa thread (apenas dispara o fechamento reativo).
+ */
+@Component
+public class SessaoTimerWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessaoTimerWheel.class);
+
+    private final HashedWheelTimer timer;
+    private final Map<String, Timeout> agendamentos = new ConcurrentHashMap<>();
+
+    public SessaoTimerWheel(
+            MeterRegistry meterRegistry,
+            @Value("${votacao.sessao.timer.tick:100ms}") Duration tick,
+            @Value("${votacao.sessao.timer.slots:512}") int slots) {
+        this.timer = new HashedWheelTimer(
+            runnable -> {
+                Thread thread = new Thread(runnable, "sessao-timer-wheel");
+                thread.setDaemon(true);
+                return thread;
+            },
+            tick.toMillis(), TimeUnit.MILLISECONDS, slots);
+
+        Gauge.builder("votacao.sessao.timer.agendados", agendamentos, Map::size)
+            .description("Sessões com fechamento agendado na roda de temporização")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Agenda (ou reagenda) o fechamento da sessão da pauta.
+     *
+     * @param pautaId ID da pauta
+     * @param fimSessao instante de encerramento da sessão
+     * @param fechamento ação executada no prazo
+     */
+    public void agendar(String pautaId, LocalDateTime fimSessao, Runnable fechamento) {
+        long atraso = Math.max(0, Duration.between(LocalDateTime.now(), fimSessao).toMillis());
+
+        Timeout[] novo = new Timeout[1];
+        novo[0] = timer.newTimeout(timeout -> {
+            agendamentos.remove(pautaId, novo[0]);
+            try {
+                fechamento.run();
+            } catch (RuntimeException ex) {
+                logger.error("Erro ao disparar o fechamento da sessão da pauta {}", pautaId, ex);
+            }
+        }, atraso, TimeUnit.MILLISECONDS);
+
+        Timeout anterior = agendamentos.put(pautaId, novo[0]);
+        if (anterior != null) {
+            anterior.cancel();
+        }
+        logger.debug("Fechamento da sessão da pauta {} agendado para {} (em {} ms)", pautaId, fimSessao, atraso);
+    }
+
+    /**
+     * Cancela o fechamento agendado da pauta, se houver.
+     *
+     * @param pautaId ID da pauta
+     */
+    public void cancelar(String pautaId) {
+        Timeout timeout = agendamentos.remove(pautaId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    public int quantidade() {
+        return agendamentos.size();
+    }
+
+    @PreDestroy
+    public void parar() {
+        timer.stop();
+    }
+}
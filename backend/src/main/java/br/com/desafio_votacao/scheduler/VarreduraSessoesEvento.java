@@ -0,0 +1,32 @@
+package br.com.desafio_votacao.scheduler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder emitido a cada varredura de sessões expiradas do
+ * {@link SessaoScheduler}.
+ */
+@Name(VarreduraSessoesEvento.NOME)
+@Label("Varredura de Sessões Expiradas")
+@Category("Votação")
+@Description("Varredura periódica de segurança das sessões expiradas")
+@StackTrace(false)
+public class VarreduraSessoesEvento extends Event {
+
+    public static final String NOME = "br.com.desafio_votacao.VarreduraSessoes";
+
+    @Label("Líder")
+    @Description("A instância era a líder e executou a varredura")
+    boolean lider;
+
+    @Label("Sessões Fechadas")
+    long sessoesFechadas;
+
+    @Label("Erro")
+    String erro;
+}
@@ -0,0 +1,205 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.dto.ResultadoAtualizacaoDTO;
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.model.Apuracao;
+import br.com.desafio_votacao.model.Voto;
+import br.com.desafio_votacao.repository.ApuracaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Apuração incremental dos votos.
+ *
+ * Cada voto aceito incrementa os contadores do documento da pauta na coleção {@code apuracoes}
+ * ({@code $inc}), de modo que o resultado é lido em O(1) (busca por ID) em vez de contar a
+ * coleção de votos a cada consulta. O documento é compartilhado por todas as instâncias e é a
+ * única fonte do resultado; nenhuma contagem é mantida em memória.
+ */
+@Service
+public class ApuracaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApuracaoService.class);
+
+    private final ApuracaoRepository apuracaoRepository;
+    private final ResultadoNotificador resultadoNotificador;
+
+    public ApuracaoService(ApuracaoRepository apuracaoRepository, ResultadoNotificador resultadoNotificador) {
+        this.apuracaoRepository = apuracaoRepository;
+        this.resultadoNotificador = resultadoNotificador;
+    }
+
+    /**
+     * Contabiliza votos já gravados. Os votos são agrupados por pauta, gerando um único
+     * {@code $inc} por pauta.
+     *
+     * Uma falha ao atualizar o documento de apuração não desfaz os votos (já confirmados);
+     * ela é registrada em log e os contadores são corrigidos na próxima reconstrução.
+     * Se a apuração já foi congelada (voto aceito antes do prazo e gravado depois do
+     * fechamento), o incremento é recusado e a pauta é recontada, já incluindo o voto gravado.
+     *
+     * @param votos votos aceitos pelo MongoDB
+     * @return Mono concluído após a atualização dos contadores
+     */
+    public Mono<Void> contabilizar(List<Voto> votos) {
+        if (votos.isEmpty()) {
+            return Mono.empty();
+        }
+
+        Map<String, List<Voto>> votosPorPauta = votos.stream()
+            .collect(Collectors.groupingBy(Voto::getPautaId));
+
+        return Flux.fromIterable(votosPorPauta.entrySet())
+            .flatMap(entrada -> {
+                String pautaId = entrada.getKey();
+                long sim = entrada.getValue().stream().filter(voto -> voto.getOpcaoVoto() == VotoOpcao.SIM).count();
+                long nao = entrada.getValue().size() - sim;
+
+                return apuracaoRepository.incrementar(pautaId, sim, nao)
+                    .flatMap(aplicado -> {
+                        if (aplicado) {
+                            return Mono.empty();
+                        }
+                        logger.info("Votos da pauta {} gravados após o congelamento; recontando", pautaId);
+                        return recontar(pautaId).then();
+                    })
+                    .onErrorResume(ex -> {
+                        logger.error("Erro ao atualizar a apuração da pauta {} (+{} sim, +{} não)", pautaId, sim, nao, ex);
+                        return Mono.empty();
+                    });
+            })
+            .then();
+    }
+
+    /**
+     * Retorna o resultado da pauta a partir do documento de apuração.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono com as chaves {@code sim}, {@code nao} e {@code total}
+     */
+    public Mono<Map<String, Long>> obterResultado(String pautaId) {
+        return apuracaoRepository.findById(pautaId)
+            .map(apuracao -> montarResultado(apuracao.getSim(), apuracao.getNao()))
+            .defaultIfEmpty(montarResultado(0, 0));
+    }
+
+    /**
+     * Retorna o resultado da pauta como final, para pautas cuja sessão não está aberta.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono com o resultado marcado como encerrado
+     */
+    public Mono<ResultadoAtualizacaoDTO> obterResultadoFinal(String pautaId) {
+        return obterResultado(pautaId)
+            .map(resultado -> new ResultadoAtualizacaoDTO(resultado, true));
+    }
+
+    /**
+     * Acompanha o resultado da pauta em tempo real. Todos os assinantes da mesma pauta
+     * compartilham uma única transmissão, que relê o documento de apuração (ver
+     * {@link ResultadoNotificador}); para uma pauta encerrada, o resultado final é enviado uma
+     * vez e o stream é concluído.
+     *
+     * @param pautaId ID da pauta
+     * @return Flux com o resultado atual seguido das atualizações, concluído no fechamento da sessão
+     */
+    public Flux<ResultadoAtualizacaoDTO> acompanharResultado(String pautaId) {
+        return resultadoNotificador.acompanhar(pautaId, () -> apuracaoRepository.findById(pautaId)
+            .map(apuracao -> new ResultadoAtualizacaoDTO(
+                montarResultado(apuracao.getSim(), apuracao.getNao()), apuracao.isEncerrada()))
+            .defaultIfEmpty(new ResultadoAtualizacaoDTO(montarResultado(0, 0), false)));
+    }
+
+    /**
+     * Reabre a apuração da pauta quando a sessão é reaberta: uma apuração encerrada volta a
+     * receber incrementos. Sem efeito para pautas sem apuração ou com apuração em andamento.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono concluído após a reabertura
+     */
+    public Mono<Void> reabrir(String pautaId) {
+        return apuracaoRepository.findById(pautaId)
+            .filter(Apuracao::isEncerrada)
+            .flatMap(apuracao -> {
+                apuracao.setEncerrada(false);
+                apuracao.setDataEncerramento(null);
+                return apuracaoRepository.save(apuracao);
+            })
+            .then();
+    }
+
+    /**
+     * Congela o resultado da pauta após o fechamento da sessão. A apuração é primeiro marcada
+     * como encerrada, o que faz os {@code $inc} seguintes serem recusados; só então os votos
+     * são contados por agregação e gravados nela, que passa a responder as consultas de
+     * resultado sem tocar a coleção de votos. Um voto gravado depois da contagem tem o
+     * incremento recusado e provoca uma nova contagem (ver {@link #contabilizar(List)}), de
+     * modo que nenhum voto aceito fica fora do resultado congelado. Em seguida envia o
+     * resultado final aos assinantes do stream.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono com a apuração encerrada
+     */
+    public Mono<Apuracao> encerrar(String pautaId) {
+        return apuracaoRepository.congelar(pautaId, LocalDateTime.now())
+            .then(recontar(pautaId))
+            .doOnSuccess(apuracao -> {
+                logger.info("Resultado da pauta {} congelado: {} sim, {} não", pautaId, apuracao.getSim(), apuracao.getNao());
+                remover(pautaId);
+            });
+    }
+
+    /**
+     * Conta os votos da pauta e grava a contagem na apuração encerrada.
+     *
+     * @return Mono com a apuração (a atual, se ela foi reaberta entretanto)
+     */
+    private Mono<Apuracao> recontar(String pautaId) {
+        return apuracaoRepository.contarVotos(pautaId)
+            .defaultIfEmpty(new Apuracao(pautaId, 0, 0))
+            .flatMap(contagem -> apuracaoRepository.gravarContagem(pautaId, contagem.getSim(), contagem.getNao()))
+            .switchIfEmpty(Mono.defer(() -> apuracaoRepository.findById(pautaId)));
+    }
+
+    /**
+     * Conclui o stream da pauta nesta instância sem esperar o congelamento do documento de
+     * apuração (ex.: falha ao congelar o resultado).
+     */
+    public void remover(String pautaId) {
+        resultadoNotificador.encerrar(pautaId);
+    }
+
+    /**
+     * Recalcula e congela, a partir da coleção de votos, as apurações não encerradas das pautas
+     * com a sessão já fechada (ex.: pautas fechadas antes da apuração incremental, ou falha ao
+     * congelar o resultado). Executado na inicialização; como o resultado é gravado congelado,
+     * cada pauta é recontada uma única vez. Pautas com sessão aberta ficam de fora: o
+     * {@code $merge} sobrescreveria os {@code $inc} concorrentes, e o resultado delas é contado
+     * de qualquer forma ao fechar a sessão ({@link #encerrar(String)}).
+     *
+     * @return Mono concluído após a reconstrução
+     */
+    public Mono<Void> reconstruir() {
+        long inicio = System.currentTimeMillis();
+        return apuracaoRepository.reconstruir()
+            .doOnSuccess(ignored -> logger.info("Apurações reconstruídas a partir dos votos em {} ms",
+                System.currentTimeMillis() - inicio));
+    }
+
+    private static Map<String, Long> montarResultado(long sim, long nao) {
+        Map<String, Long> resultado = new HashMap<>();
+        resultado.put("sim", sim);
+        resultado.put("nao", nao);
+        resultado.put("total", sim + nao);
+        return resultado;
+    }
+}
@@ -1,65 +1,169 @@
 package br.com.desafio_votacao.service;
 
+import br.com.desafio_votacao.cache.AssociadoCache;
+import br.com.desafio_votacao.cache.ContagemEstimadaCache;
 import br.com.desafio_votacao.client.CpfValidator;
 import br.com.desafio_votacao.dto.AssociadoDTO;
+import br.com.desafio_votacao.dto.AssociadoImportacaoDTO;
 import br.com.desafio_votacao.dto.PageResponse;
 import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
 import br.com.desafio_votacao.repository.AssociadoRepository;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+import reactor.util.retry.Retry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 
 @Service
 public class AssociadoService {
     
     private static final Logger logger = LoggerFactory.getLogger(AssociadoService.class);
+
+    static final int TAMANHO_LOTE_IMPORTACAO = 1000;
+    private static final int TENTATIVAS_MIGRACAO = 3;
     
     private final AssociadoRepository associadoRepository;
     private final CpfValidator cpfValidator;
+    private final AssociadoCache associadoCache;
+    private final ContagemEstimadaCache contagemEstimadaCache;
     
     @Autowired
-    public AssociadoService(AssociadoRepository associadoRepository, CpfValidator cpfValidator) {
+    public AssociadoService(AssociadoRepository associadoRepository, CpfValidator cpfValidator, AssociadoCache associadoCache,
+            ContagemEstimadaCache contagemEstimadaCache) {
         this.associadoRepository = associadoRepository;
         this.cpfValidator = cpfValidator;
+        this.associadoCache = associadoCache;
+        this.contagemEstimadaCache = contagemEstimadaCache;
+    }
+
+    /**
+     * Converte, assim que a aplicação sobe, os CPFs ainda gravados como texto para o formato
+     * numérico. Enquanto a conversão não termina, esses registros continuam legíveis, mas não
+     * são encontrados nas buscas por CPF; um associado cadastrado nesse intervalo com o mesmo
+     * CPF gera um conflito, e o registro em texto é mantido e reportado em log para resolução manual.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrarCpfsTexto() {
+        associadoRepository.migrarCpfsTexto()
+            // Conflito criado entre a identificação dos conflitantes e a conversão: a nova execução o identifica
+            .retryWhen(Retry.max(TENTATIVAS_MIGRACAO).filter(DuplicateKeyException.class::isInstance))
+            .subscribe(
+                migracao -> {
+                    if (migracao.convertidos() > 0) {
+                        logger.info("{} CPFs gravados como texto convertidos para o formato numérico", migracao.convertidos());
+                    }
+                    if (!migracao.conflitantes().isEmpty()) {
+                        logger.warn("{} associados mantidos com CPF em texto por CPF duplicado, IDs: {}",
+                            migracao.conflitantes().size(), migracao.conflitantes());
+                    }
+                },
+                error -> logger.error("Erro ao converter CPFs gravados como texto", error)
+            );
     }
     
-    public Mono<PageResponse<Associado>> listarTodosAssociadosPaginado(int page, int size) {
-        long skip = (long) page * size;
+    /**
+     * Lista os associados por página, com skip/limit aplicados na consulta ao MongoDB
+     * 
+     * @param page número da página (a partir de 0)
+     * @param size tamanho da página
+     * @param ativo filtro pela situação do associado (nulo para todos)
+     * @param contagemExata se true, conta os associados a cada requisição; senão usa o total estimado em cache
+     * @return Mono com a página de associados
+     */
+    public Mono<PageResponse<Associado>> listarTodosAssociadosPaginado(int page, int size, Boolean ativo, boolean contagemExata) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("_id"));
+        Flux<Associado> associados = ativo == null
+            ? associadoRepository.findAllBy(pageable)
+            : associadoRepository.findByAtivo(ativo, pageable);
 
-        return associadoRepository.count()
-                .flatMap(total -> associadoRepository.findAll()
-                    .skip(skip)
-                    .take(size)
-                    .collectList()
-                    .map(content -> new PageResponse<>(content, page, size, total))
-                );
+        return montarPagina(associados, page, size, ativo, contagemExata);
+    }
+
+    /**
+     * Lista os associados seguintes ao associado {@code after} (paginação por cursor sobre o
+     * {@code _id}); o custo de uma página profunda é o mesmo da primeira
+     * 
+     * @param after ID do último associado da página anterior ({@code nextCursor})
+     * @param size tamanho da página
+     * @param ativo filtro pela situação do associado (nulo para todos)
+     * @param contagemExata se true, conta os associados a cada requisição; senão usa o total estimado em cache
+     * @return Mono com a página de associados, ou erro 400 se o cursor for inválido
+     */
+    public Mono<PageResponse<Associado>> listarAssociadosAposCursor(String after, int size, Boolean ativo, boolean contagemExata) {
+        if (!ObjectId.isValid(after)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido: " + after));
+        }
+
+        return montarPagina(associadoRepository.buscarApos(ativo, after, size), 0, size, ativo, contagemExata);
+    }
+
+    private Mono<PageResponse<Associado>> montarPagina(Flux<Associado> associados, int page, int size,
+            Boolean ativo, boolean contagemExata) {
+        Mono<Long> total;
+        if (contagemExata) {
+            total = ativo == null ? associadoRepository.count() : associadoRepository.countByAtivo(ativo);
+        } else {
+            total = ativo == null
+                ? contagemEstimadaCache.contar(Associado.class)
+                : contagemEstimadaCache.contar(Associado.class, Criteria.where("ativo").is(ativo));
+        }
+
+        return Mono.zip(associados.collectList(), total)
+            .map(tupla -> {
+                List<Associado> content = tupla.getT1();
+                String nextCursor = content.size() == size ? content.get(content.size() - 1).getId() : null;
+                return new PageResponse<>(content, page, size, tupla.getT2(), nextCursor);
+            });
     }
     
     /**
-     * Busca um associado pelo ID
+     * Busca um associado pelo ID (via cache)
      * 
      * @param id ID do associado
      * @return Mono com o associado encontrado ou vazio se não existir
      */
     public Mono<Associado> buscarAssociadoPorId(String id) {
         logger.info("Buscando associado com ID: {}", id);
-        return associadoRepository.findById(id);
+        return associadoCache.buscarPorId(id);
     }
     
     /**
-     * Busca um associado pelo CPF
+     * Busca um associado pelo CPF (via cache)
      * 
      * @param cpf CPF do associado
      * @return Mono com o associado encontrado ou vazio se não existir
      */
     public Mono<Associado> buscarAssociadoPorCpf(String cpf) {
-        logger.info("Buscando associado com CPF: {}", cpf);
-        return associadoRepository.findByCpf(cpf);
+        Optional<Cpf> valor = Cpf.analisar(cpf);
+        if (valor.isEmpty()) {
+            logger.info("Busca de associado com CPF de formato inválido");
+            return Mono.empty();
+        }
+        logger.info("Buscando associado com CPF: {}", valor.get().mascarado());
+        return associadoCache.buscarPorCpf(valor.get());
     }
     
     /**
@@ -69,30 +173,152 @@ public class AssociadoService {
      * @return Mono com o associado criado
      */
     public Mono<Associado> criarAssociado(AssociadoDTO associadoDTO) {
-        logger.info("Criando novo associado: {}", associadoDTO);
-        
         // Primeiro valida o formato do CPF
-        if (!isValidCpfFormat(associadoDTO.getCpf())) {
-            logger.warn("CPF {} tem formato inválido", associadoDTO.getCpf());
+        Optional<Cpf> cpfAnalisado = Cpf.analisar(associadoDTO.getCpf());
+        if (cpfAnalisado.isEmpty()) {
+            logger.warn("Associado não criado: CPF com formato inválido");
             return Mono.error(new ResponseStatusException(
                     HttpStatus.BAD_REQUEST, "CPF inválido - formato incorreto"));
         }
+        Cpf cpf = cpfAnalisado.get();
+        logger.info("Criando novo associado com CPF: {}", cpf.mascarado());
         
         // Verifica se já existe associado com o mesmo CPF
-        return associadoRepository.existsByCpf(associadoDTO.getCpf())
+        return associadoRepository.existsByCpf(cpf)
             .flatMap(existe -> {
                 if (existe) {
-                    logger.warn("Já existe um associado com o CPF: {}", associadoDTO.getCpf());
+                    logger.warn("Já existe um associado com o CPF: {}", cpf.mascarado());
                     return Mono.error(new ResponseStatusException(
                             HttpStatus.CONFLICT, "Já existe um associado com este CPF"));
                 }
                 
                 // Cria o associado diretamente após validação de formato
-                Associado associado = new Associado(associadoDTO.getCpf());
+                Associado associado = new Associado(cpf);
                 return associadoRepository.save(associado);
             });
     }
     
+    /**
+     * Importa um fluxo de CPFs, cadastrando os que ainda não existem.
+     * 
+     * Os CPFs são processados em lotes de {@value #TAMANHO_LOTE_IMPORTACAO}: o formato é validado
+     * com uma única leitura de cada CPF, os repetidos na importação (mesmo que com formatação
+     * diferente) são descartados e os restantes são gravados com um único bulk write de upserts
+     * sobre o índice único de CPF. Para cada lote são emitidos os erros por linha (formato
+     * inválido, CPF repetido ou já cadastrado) e o progresso acumulado; o último evento é o
+     * total da importação.
+     * 
+     * @param cpfs fluxo de CPFs
+     * @return Flux com os erros por linha e o progresso da importação
+     */
+    public Flux<AssociadoImportacaoDTO> importarAssociados(Flux<String> cpfs) {
+        return Flux.defer(() -> {
+            ProgressoImportacao progresso = new ProgressoImportacao();
+            return cpfs.index()
+                .buffer(TAMANHO_LOTE_IMPORTACAO)
+                .concatMap(grupo -> importarLote(grupo, progresso))
+                .concatWith(Mono.fromSupplier(() -> {
+                    logger.info("Importação de associados concluída: {}", progresso);
+                    return progresso.evento(true);
+                }));
+        });
+    }
+
+    /**
+     * Importa os CPFs da primeira coluna de um CSV; o cabeçalho {@code cpf} e as linhas em
+     * branco são ignorados.
+     * 
+     * @param linhas linhas do CSV
+     * @return Flux com os erros por linha e o progresso da importação
+     */
+    public Flux<AssociadoImportacaoDTO> importarAssociadosCsv(Flux<String> linhas) {
+        return importarAssociados(linhas
+            .filter(linha -> !linha.isBlank())
+            .map(AssociadoService::extrairCpfCsv)
+            .filter(cpf -> !"cpf".equalsIgnoreCase(cpf)));
+    }
+
+    private Flux<AssociadoImportacaoDTO> importarLote(List<Tuple2<Long, String>> grupo, ProgressoImportacao progresso) {
+        return Flux.fromIterable(grupo)
+            .map(linha -> Tuples.of(linha, Cpf.analisar(linha.getT2())))
+            .collectList()
+            .flatMapMany(validadas -> {
+                List<AssociadoImportacaoDTO> erros = new ArrayList<>();
+                List<Tuple2<Long, String>> aceitas = new ArrayList<>(validadas.size());
+                List<Cpf> cpfs = new ArrayList<>(validadas.size());
+                Set<Cpf> vistos = new HashSet<>();
+                for (Tuple2<Tuple2<Long, String>, Optional<Cpf>> validada : validadas) {
+                    Tuple2<Long, String> linha = validada.getT1();
+                    if (validada.getT2().isEmpty()) {
+                        erros.add(AssociadoImportacaoDTO.erro(linha.getT1(), linha.getT2(),
+                            HttpStatus.BAD_REQUEST.value(), "CPF inválido - formato incorreto"));
+                    } else if (!vistos.add(validada.getT2().get())) {
+                        erros.add(AssociadoImportacaoDTO.erro(linha.getT1(), linha.getT2(),
+                            HttpStatus.CONFLICT.value(), "CPF repetido na importação"));
+                    } else {
+                        aceitas.add(linha);
+                        cpfs.add(validada.getT2().get());
+                    }
+                }
+                long rejeitados = erros.size();
+
+                return associadoRepository.cadastrarSeAusentes(cpfs)
+                    .flatMapMany(cadastrados -> {
+                        for (int posicao = 0; posicao < aceitas.size(); posicao++) {
+                            if (!cadastrados.contains(posicao)) {
+                                Tuple2<Long, String> linha = aceitas.get(posicao);
+                                erros.add(AssociadoImportacaoDTO.erro(linha.getT1(), linha.getT2(),
+                                    HttpStatus.CONFLICT.value(), "Já existe um associado com este CPF"));
+                            }
+                        }
+                        progresso.registrar(grupo.size(), cadastrados.size(), aceitas.size() - cadastrados.size(), rejeitados);
+                        erros.sort(Comparator.comparing(AssociadoImportacaoDTO::linha));
+
+                        return Flux.fromIterable(erros)
+                            .concatWith(Mono.fromSupplier(() -> progresso.evento(false)));
+                    });
+            });
+    }
+
+    private static String extrairCpfCsv(String linha) {
+        int fim = linha.length();
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == ',' || c == ';') {
+                fim = i;
+                break;
+            }
+        }
+        return linha.substring(0, fim).replace("\"", "").trim();
+    }
+
+    /**
+     * Totais acumulados de uma importação; atualizado por um lote de cada vez.
+     */
+    private static final class ProgressoImportacao {
+        private long processados;
+        private long cadastrados;
+        private long existentes;
+        private long rejeitados;
+
+        void registrar(long processados, long cadastrados, long existentes, long rejeitados) {
+            this.processados += processados;
+            this.cadastrados += cadastrados;
+            this.existentes += existentes;
+            this.rejeitados += rejeitados;
+        }
+
+        AssociadoImportacaoDTO evento(boolean concluido) {
+            return AssociadoImportacaoDTO.progresso(concluido, processados, cadastrados, existentes, rejeitados);
+        }
+
+        @Override
+        public String toString() {
+            return processados + " processados, " + cadastrados + " cadastrados, "
+                + existentes + " existentes, " + rejeitados + " rejeitados";
+        }
+    }
+    
     /**
      * Atualiza os dados de um associado existente
      * 
@@ -107,20 +333,29 @@ public class AssociadoService {
             .switchIfEmpty(Mono.error(new ResponseStatusException(
                     HttpStatus.NOT_FOUND, "Associado não encontrado com o ID: " + id)))
             .flatMap(associadoExistente -> {
+                Optional<Cpf> cpfAnalisado = Cpf.analisar(associadoDTO.getCpf());
+                if (cpfAnalisado.isEmpty()) {
+                    return Mono.error(new ResponseStatusException(
+                            HttpStatus.BAD_REQUEST, "CPF inválido - formato incorreto"));
+                }
+                Cpf novoCpf = cpfAnalisado.get();
+
                 // Verifica se o CPF foi alterado e se já existe outro associado com o novo CPF
-                if (!associadoExistente.getCpf().equals(associadoDTO.getCpf())) {
-                    return associadoRepository.existsByCpf(associadoDTO.getCpf())
+                if (!novoCpf.equals(associadoExistente.getCpf())) {
+                    return associadoRepository.existsByCpf(novoCpf)
                         .flatMap(existe -> {
                             if (existe) {
-                                logger.warn("Já existe outro associado com o CPF: {}", associadoDTO.getCpf());
+                                logger.warn("Já existe outro associado com o CPF: {}", novoCpf.mascarado());
                                 return Mono.error(new ResponseStatusException(
                                         HttpStatus.CONFLICT, "Já existe outro associado com este CPF"));
                             }
                             
                             // Atualiza os dados do associado
-                            associadoExistente.setCpf(associadoDTO.getCpf());
+                            Cpf cpfAnterior = associadoExistente.getCpf();
+                            associadoExistente.setCpf(novoCpf);
                             
-                            return associadoRepository.save(associadoExistente);
+                            return associadoRepository.save(associadoExistente)
+                                .doOnSuccess(salvo -> associadoCache.invalidar(id, cpfAnterior, novoCpf));
                         });
                 } else {
                     // O CPF continua o mesmo, não há o que atualizar
@@ -144,7 +379,8 @@ public class AssociadoService {
                     HttpStatus.NOT_FOUND, "Associado não encontrado com o ID: " + id)))
             .flatMap(associado -> {
                 associado.setAtivo(ativo);
-                return associadoRepository.save(associado);
+                return associadoRepository.save(associado)
+                    .doOnSuccess(salvo -> associadoCache.invalidar(id, associado.getCpf()));
             });
     }
     
@@ -160,7 +396,8 @@ public class AssociadoService {
         return associadoRepository.findById(id)
             .switchIfEmpty(Mono.error(new ResponseStatusException(
                     HttpStatus.NOT_FOUND, "Associado não encontrado com o ID: " + id)))
-            .flatMap(associadoRepository::delete);
+            .flatMap(associado -> associadoRepository.delete(associado)
+                .doOnSuccess(vazio -> associadoCache.invalidar(id, associado.getCpf())));
     }
     
     /**
@@ -170,7 +407,7 @@ public class AssociadoService {
      * @return Mono com true se associado está habilitado, false caso contrário
      */
     public Mono<Boolean> verificarAssociadoHabilitado(String associadoId) {
-        return associadoRepository.findById(associadoId)
+        return associadoCache.buscarPorId(associadoId)
             .switchIfEmpty(Mono.error(new ResponseStatusException(
                     HttpStatus.NOT_FOUND, "Associado não encontrado com o ID: " + associadoId)))
             .flatMap(associado -> {
@@ -182,54 +419,4 @@ public class AssociadoService {
                     .map(status -> "ABLE_TO_VOTE".equals(status.status()));
             });
     }
-    
-    /**
-     * Valida o formato do CPF
-     * 
-     * @param cpf CPF a ser validado
-     * @return true se o formato é válido
-     */
-    private boolean isValidCpfFormat(String cpf) {
-        if (cpf == null || cpf.trim().isEmpty()) {
-            return false;
-        }
-        
-        // Remove pontos e traços
-        cpf = cpf.replaceAll("[^0-9]", "");
-        
-        // Verifica se tem 11 dígitos
-        if (cpf.length() != 11) {
-            return false;
-        }
-        
-        // Verifica se não são todos os dígitos iguais
-        if (cpf.matches("(\\d)\\1{10}")) {
-            return false;
-        }
-        
-        // Validação dos dígitos verificadores
-        try {
-            int[] digits = cpf.chars().map(c -> c - '0').toArray();
-            
-            // Primeiro dígito verificador
-            int sum = 0;
-            for (int i = 0; i < 9; i++) {
-                sum += digits[i] * (10 - i);
-            }
-            int firstDigit = 11 - (sum % 11);
-            if (firstDigit >= 10) firstDigit = 0;
-            
-            // Segundo dígito verificador
-            sum = 0;
-            for (int i = 0; i < 10; i++) {
-                sum += digits[i] * (11 - i);
-            }
-            int secondDigit = 11 - (sum % 11);
-            if (secondDigit >= 10) secondDigit = 0;
-            
-            return digits[9] == firstDigit && digits[10] == secondDigit;
-        } catch (Exception e) {
-            return false;
-        }
-    }
 }
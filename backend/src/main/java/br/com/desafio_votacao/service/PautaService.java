@@ -1,18 +1,28 @@
 package br.com.desafio_votacao.service;
 
+import br.com.desafio_votacao.cache.ContagemEstimadaCache;
+import br.com.desafio_votacao.cache.SessaoRegistry;
+import br.com.desafio_votacao.cache.VotantesRegistry;
 import br.com.desafio_votacao.dto.PageResponse;
 import br.com.desafio_votacao.dto.PautaDTO;
 import br.com.desafio_votacao.model.Pauta;
 import br.com.desafio_votacao.repository.PautaRepository;
+import br.com.desafio_votacao.repository.PautaRepositoryCustomImpl;
+import br.com.desafio_votacao.scheduler.SessaoTimerWheel;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 public class PautaService {
@@ -22,22 +32,58 @@ public class PautaService {
     @Autowired
     private PautaRepository pautaRepository;
 
+    @Autowired
+    private SessaoRegistry sessaoRegistry;
+
+    @Autowired
+    private VotantesRegistry votantesRegistry;
+
+    @Autowired
+    private ApuracaoService apuracaoService;
+
+    @Autowired
+    private SessaoTimerWheel sessaoTimerWheel;
+
+    @Autowired
+    private ContagemEstimadaCache contagemEstimadaCache;
+
+    /**
+     * Lista as pautas por página, com skip/limit aplicados na consulta ao MongoDB.
+     *
+     * @param page número da página (a partir de 0)
+     * @param size tamanho da página
+     * @return Mono com a página e o total estimado de pautas
+     */
     public Mono<PageResponse<Pauta>> listarPautasPaginadas(int page, int size) {
-        long skip = (long) page * size;
-    
-        return pautaRepository.count()
-            .flatMap(totalElements -> 
-                pautaRepository.findAll()
-                    .skip(skip)
-                    .take(size)
-                    .collectList()
-                    .map(content -> {
-                        return new PageResponse<>(content, page, size, totalElements);
-                    })
-            );
+        Pageable pageable = PageRequest.of(page, size, PautaRepositoryCustomImpl.ORDENACAO_LISTAGEM);
+
+        return montarPagina(pautaRepository.findAllBy(pageable), page, size);
     }
-    
 
+    /**
+     * Lista as pautas seguintes à pauta {@code after} (paginação por cursor). Diferente do
+     * skip, o custo de uma página profunda é o mesmo da primeira.
+     *
+     * @param after ID da última pauta da página anterior ({@code nextCursor})
+     * @param size tamanho da página
+     * @return Mono com a página, ou erro 400 se o cursor não corresponde a uma pauta
+     */
+    public Mono<PageResponse<Pauta>> listarPautasAposCursor(String after, int size) {
+        Flux<Pauta> pautas = pautaRepository.findById(after)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido: " + after)))
+            .flatMapMany(ultima -> pautaRepository.buscarApos(ultima, size));
+
+        return montarPagina(pautas, 0, size);
+    }
+
+    private Mono<PageResponse<Pauta>> montarPagina(Flux<Pauta> pautas, int page, int size) {
+        return Mono.zip(pautas.collectList(), contagemEstimadaCache.contar(Pauta.class))
+            .map(tupla -> {
+                List<Pauta> content = tupla.getT1();
+                String nextCursor = content.size() == size ? content.get(content.size() - 1).getId() : null;
+                return new PageResponse<>(content, page, size, tupla.getT2(), nextCursor);
+            });
+    }
 
     public Mono<Pauta> buscarPautaPorId(String id) {
         return pautaRepository.findById(id);
@@ -62,57 +108,161 @@ public class PautaService {
         final LocalDateTime agora = LocalDateTime.now();
         final LocalDateTime fimSessao = agora.plusMinutes(duracaoMinutos);
         
-        return pautaRepository.findById(pautaId)
-            .switchIfEmpty(Mono.error(new RuntimeException("Pauta não encontrada")))
-            .flatMap(pauta -> {
-                if (Boolean.TRUE.equals(pauta.getSessaoAberta())) {
-                    return Mono.error(new RuntimeException("Sessão de votação já está aberta para esta pauta"));
-                }
-                
-                pauta.setSessaoAberta(true);
-                pauta.setInicioSessao(agora);
-                pauta.setFimSessao(fimSessao);
-                
-                return pautaRepository.save(pauta);
-            });
+        // Abertura condicional e atômica: nunca sobrescreve uma sessão aberta por outra requisição/instância
+        return pautaRepository.abrirSessao(pautaId, agora, fimSessao)
+            .switchIfEmpty(Mono.defer(() -> pautaRepository.findById(pautaId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Pauta não encontrada")))
+                .flatMap(pauta -> Mono.error(new RuntimeException("Sessão de votação já está aberta para esta pauta")))))
+            .flatMap(saved -> votantesRegistry.carregar(saved.getId())
+                .then(apuracaoService.reabrir(saved.getId()))
+                .thenReturn(saved))
+            .doOnSuccess(this::registrarSessao);
     }
 
+    /**
+     * Verifica se a sessão de votação da pauta está aberta.
+     *
+     * Consulta primeiro o registro em memória de sessões abertas; a pauta só é lida do
+     * MongoDB quando não está registrada (ex.: sessão aberta por outra instância), e é
+     * registrada caso esteja aberta.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono com true se a sessão está aberta
+     */
     public Mono<Boolean> verificarSessaoAberta(String pautaId) {
+        LocalDateTime fimRegistrado = sessaoRegistry.buscarFimSessao(pautaId);
+        if (fimRegistrado != null) {
+            return Mono.just(LocalDateTime.now().isBefore(fimRegistrado));
+        }
+
         return pautaRepository.findById(pautaId)
             .map(pauta -> {
-                if (Boolean.FALSE.equals(pauta.getSessaoAberta())) {
+                if (!Boolean.TRUE.equals(pauta.getSessaoAberta())) {
                     return false;
                 }
                 
                 LocalDateTime agora = LocalDateTime.now();
-                return agora.isBefore(pauta.getFimSessao());
+                boolean aberta = agora.isBefore(pauta.getFimSessao());
+                if (aberta) {
+                    registrarSessao(pauta);
+                    votantesRegistry.carregarSeAusente(pauta.getId())
+                        .subscribe(null, error -> logger.error("Erro ao carregar votantes da pauta {}", pauta.getId(), error));
+                }
+                return aberta;
             })
             .defaultIfEmpty(false);
     }
 
-    public Mono<Void> fecharSessoesExpiradas() {
+    /**
+     * Reconstrói os registros em memória (sessões e votantes) e os fechamentos
+     * agendados com as sessões ainda abertas no MongoDB.
+     *
+     * @return Mono com a quantidade de sessões carregadas
+     */
+    public Mono<Long> carregarSessoesAbertas() {
+        LocalDateTime agora = LocalDateTime.now();
+
+        // Sessões que expiraram com a aplicação parada são fechadas imediatamente pela roda de temporização
+        Mono<Long> expiradas = pautaRepository.findBySessaoAbertaIsTrueAndFimSessaoBefore(agora)
+            .doOnNext(this::agendarFechamento)
+            .count();
+
+        return expiradas
+            .doOnNext(total -> {
+                if (total > 0) {
+                    logger.info("{} sessões expiradas durante a parada agendadas para fechamento", total);
+                }
+            })
+            .then(pautaRepository.findBySessaoAbertaIsTrueAndFimSessaoAfter(agora)
+                .flatMap(pauta -> votantesRegistry.carregar(pauta.getId()).thenReturn(pauta))
+                .doOnNext(this::registrarSessao)
+                .count())
+            .doOnSuccess(total -> logger.info("{} sessões abertas carregadas em memória", total));
+    }
+
+    /**
+     * Registra a sessão aberta em memória e agenda o seu fechamento para o instante exato de {@code fimSessao}.
+     */
+    private void registrarSessao(Pauta pauta) {
+        sessaoRegistry.registrar(pauta.getId(), pauta.getFimSessao());
+        agendarFechamento(pauta);
+    }
+
+    private void agendarFechamento(Pauta pauta) {
+        sessaoTimerWheel.agendar(pauta.getId(), pauta.getFimSessao(), () -> fecharSessao(pauta.getId())
+            .subscribe(null, error -> logger.error("Erro ao fechar a sessão da pauta ID={}", pauta.getId(), error)));
+    }
+
+    /**
+     * Fecha a sessão da pauta se ela ainda estiver aberta e já tiver expirado.
+     * Disparado pela roda de temporização no fim da sessão; como o fechamento é condicional,
+     * apenas uma das instâncias que agendaram a pauta efetivamente a fecha.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono concluído após o fechamento (vazio se não havia nada a fechar)
+     */
+    public Mono<Void> fecharSessao(String pautaId) {
+        return pautaRepository.fecharSessaoExpirada(pautaId, LocalDateTime.now())
+            .doOnNext(pauta -> logger.info("Prazo da sessão da pauta ID={} atingido, sessão fechada", pauta.getId()))
+            .flatMap(this::aposFechamento)
+            .switchIfEmpty(Mono.defer(() -> pautaRepository.findById(pautaId)
+                .doOnNext(pauta -> {
+                    if (Boolean.TRUE.equals(pauta.getSessaoAberta())) {
+                        // Disparo antecipado (ex.: relógio ajustado): reagenda para o prazo restante
+                        registrarSessao(pauta);
+                    } else {
+                        // Fechada por outra instância: apenas descarta o estado local
+                        liberarSessaoLocal(pauta.getId());
+                        apuracaoService.remover(pauta.getId());
+                    }
+                })))
+            .then();
+    }
+
+    /**
+     * Varredura de segurança: fecha as sessões expiradas que não foram fechadas no prazo
+     * (ex.: abertas por outra instância que parou antes do fim da sessão). Executada apenas
+     * pela instância líder; cada sessão é fechada por um {@code findAndModify} condicional,
+     * repetido até não haver mais sessões expiradas.
+     *
+     * @param tokenLider token de fencing do lease de liderança
+     * @return Mono com a quantidade de sessões fechadas
+     */
+    public Mono<Long> fecharSessoesExpiradas(long tokenLider) {
         LocalDateTime now = LocalDateTime.now();
         logger.info("Verificando pautas com sessão expirada para fechar às {}", now);
     
-        return pautaRepository.findBySessaoAbertaIsTrueAndFimSessaoBefore(now)
-            .collectList()
-            .flatMapMany(pautas -> {
-                if (pautas.isEmpty()) {
+        return pautaRepository.fecharProximaSessaoExpirada(now, tokenLider)
+            .expand(fechada -> pautaRepository.fecharProximaSessaoExpirada(now, tokenLider))
+            .doOnNext(pauta -> 
+                logger.info("Encontrou pauta ID={} com sessão expirada, sessão fechada", pauta.getId()))
+            .flatMap(this::aposFechamento)
+            .count()
+            .doOnSuccess(total -> {
+                if (total == 0) {
                     logger.info("Nenhuma pauta com sessão expirada encontrada para fechar.");
-                    return Flux.empty();
-                } else {
-                    return Flux.fromIterable(pautas);
                 }
+            });
+    }
+
+    private Mono<Pauta> aposFechamento(Pauta pauta) {
+        liberarSessaoLocal(pauta.getId());
+        logger.info("Sessão da pauta ID={} foi fechada com sucesso.", pauta.getId());
+
+        return apuracaoService.encerrar(pauta.getId())
+            .onErrorResume(ex -> {
+                // O resultado continua disponível, sem congelamento, no documento de apuração
+                logger.error("Erro ao congelar o resultado da pauta ID={}", pauta.getId(), ex);
+                apuracaoService.remover(pauta.getId());
+                return Mono.empty();
             })
-            .doOnNext(pauta -> 
-                logger.info("Encontrou pauta ID={} com sessão expirada, fechando...", pauta.getId()))
-            .flatMap(pauta -> {
-                pauta.setSessaoAberta(false);
-                return pautaRepository.save(pauta)
-                    .doOnSuccess(saved -> 
-                        logger.info("Sessão da pauta ID={} foi fechada com sucesso.", saved.getId()));
-            })
-            .then();
+            .thenReturn(pauta);
+    }
+
+    private void liberarSessaoLocal(String pautaId) {
+        sessaoRegistry.remover(pautaId);
+        votantesRegistry.remover(pautaId);
+        sessaoTimerWheel.cancelar(pautaId);
     }
     
 }
@@ -0,0 +1,105 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.dto.ResultadoAtualizacaoDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Distribui as atualizações de resultado das pautas para os clientes conectados ao stream.
+ *
+ * Existe uma única transmissão por pauta em cada instância, compartilhada por todos os seus
+ * assinantes e ativa apenas enquanto houver algum. A transmissão relê o estado compartilhado da
+ * pauta (documento de apuração) no máximo {@code atualizacoes-por-segundo} vezes por segundo e o
+ * envia a todos apenas quando muda. Assim os votos aceitos por qualquer instância chegam aos
+ * assinantes de todas elas, e o stream é concluído em todas quando o resultado é congelado no
+ * fechamento da sessão, qualquer que seja a instância que o fechou.
+ */
+@Component
+public class ResultadoNotificador {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultadoNotificador.class);
+
+    private final Duration intervalo;
+    private final Map<String, Transmissao> transmissoes = new ConcurrentHashMap<>();
+
+    public ResultadoNotificador(
+            @Value("${votacao.resultado.stream.atualizacoes-por-segundo:2}") int atualizacoesPorSegundo) {
+        this.intervalo = Duration.ofMillis(1000L / Math.max(1, atualizacoesPorSegundo));
+    }
+
+    /**
+     * Envia o resultado atual como final aos assinantes da pauta nesta instância e encerra a
+     * transmissão, sem esperar que o documento de apuração seja congelado (ex.: falha ao congelar).
+     */
+    public void encerrar(String pautaId) {
+        Transmissao transmissao = transmissoes.get(pautaId);
+        if (transmissao != null) {
+            transmissao.encerrada.set(true);
+        }
+    }
+
+    /**
+     * Acompanha o resultado da pauta: emite o estado atual e, se a pauta não estiver encerrada,
+     * as atualizações da transmissão compartilhada da pauta.
+     *
+     * @param pautaId ID da pauta
+     * @param consulta leitura do estado atual da pauta no documento compartilhado
+     * @return Flux de atualizações, concluído após o encerramento da sessão
+     */
+    public Flux<ResultadoAtualizacaoDTO> acompanhar(String pautaId, Supplier<Mono<ResultadoAtualizacaoDTO>> consulta) {
+        return Mono.defer(consulta)
+            .flatMapMany(atual -> {
+                if (atual.encerrada()) {
+                    return Flux.just(atual);
+                }
+                Flux<ResultadoAtualizacaoDTO> compartilhada = transmissoes
+                    .computeIfAbsent(pautaId, id -> new Transmissao(id, consulta))
+                    .fluxo;
+                return Flux.just(atual).concatWith(compartilhada);
+            });
+    }
+
+    int transmissoesAtivas() {
+        return transmissoes.size();
+    }
+
+    private final class Transmissao {
+        private final AtomicBoolean encerrada = new AtomicBoolean();
+        private final Flux<ResultadoAtualizacaoDTO> fluxo;
+
+        Transmissao(String pautaId, Supplier<Mono<ResultadoAtualizacaoDTO>> consulta) {
+            this.fluxo = Flux.interval(intervalo)
+                .onBackpressureDrop()
+                .concatMap(tick -> {
+                    boolean ultima = encerrada.get();
+                    return consulta.get()
+                        .map(atualizacao -> ultima && !atualizacao.encerrada()
+                            ? new ResultadoAtualizacaoDTO(atualizacao.resultado(), true)
+                            : atualizacao)
+                        .onErrorResume(ex -> {
+                            logger.warn("Erro ao ler o resultado da pauta {}; nova tentativa no próximo intervalo", pautaId, ex);
+                            return Mono.empty();
+                        });
+                })
+                .distinctUntilChanged()
+                .takeUntil(ResultadoAtualizacaoDTO::encerrada)
+                .doOnSubscribe(subscription -> logger.info("Transmissão de resultados iniciada para a pauta {}", pautaId))
+                .doFinally(signal -> {
+                    transmissoes.remove(pautaId, this);
+                    logger.info("Transmissão de resultados da pauta {} finalizada ({})", pautaId, signal);
+                })
+                .publish()
+                .refCount();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.service.VotoMetricas.Etapa;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento do Java Flight Recorder emitido a cada voto registrado, com a duração total, o
+ * resultado e o tempo de cada etapa (veja {@link VotoMetricas}).
+ *
+ * Sem uma gravação JFR ativa o evento não é propagado pela cadeia do voto; com gravação,
+ * apenas os votos acima do limite configurado para o evento são gravados.
+ */
+@Name(VotoEvento.NOME)
+@Label("Registro de Voto")
+@Category("Votação")
+@Description("Registro de um voto: resultado e tempo de cada etapa")
+@StackTrace(false)
+public class VotoEvento extends Event {
+
+    public static final String NOME = "br.com.desafio_votacao.Voto";
+
+    @Label("Pauta")
+    String pautaId;
+
+    @Label("Resultado")
+    String resultado;
+
+    @Label("Associado")
+    @Timespan
+    long associado;
+
+    @Label("Sessão")
+    @Timespan
+    long sessao;
+
+    @Label("CPF")
+    @Timespan
+    long cpf;
+
+    @Label("Gravação")
+    @Timespan
+    long gravacao;
+
+    VotoEvento(String pautaId) {
+        this.pautaId = pautaId;
+    }
+
+    void registrar(Etapa etapa, long nanos) {
+        switch (etapa) {
+            case ASSOCIADO -> associado = nanos;
+            case SESSAO -> sessao = nanos;
+            case CPF -> cpf = nanos;
+            case GRAVACAO -> gravacao = nanos;
+            // A deduplicação é síncrona e anterior à assinatura; fica apenas no timer do Micrometer
+            case DEDUPLICACAO -> { }
+        }
+    }
+}
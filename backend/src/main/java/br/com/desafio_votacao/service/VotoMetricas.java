@@ -0,0 +1,205 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.exception.UnableToVoteException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Métricas do registro de votos: um timer por etapa e status ({@code votacao.voto.etapa}), o
+ * tempo total ({@code votacao.voto.registro}) e um contador por resultado ({@code votacao.voto.resultado}).
+ *
+ * Os histogramas de percentis dos timers são configurados em {@code application.properties}
+ * ({@code management.metrics.distribution.*}); as métricas ficam disponíveis em
+ * {@code /actuator/metrics} e {@code /actuator/prometheus}.
+ */
+@Component
+public class VotoMetricas {
+
+    /**
+     * Etapas do registro de um voto.
+     */
+    public enum Etapa {
+        /** Rejeição em memória de quem já votou ({@link br.com.desafio_votacao.cache.VotantesRegistry}) */
+        DEDUPLICACAO("deduplicacao"),
+        /** Busca do associado (cache ou MongoDB) */
+        ASSOCIADO("associado"),
+        /** Verificação da sessão aberta */
+        SESSAO("sessao"),
+        /** Elegibilidade do CPF no serviço externo (ou no cache) */
+        CPF("cpf"),
+        /** Gravação do voto e contabilização na apuração */
+        GRAVACAO("gravacao");
+
+        private final String tag;
+
+        Etapa(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Como terminou a execução de uma etapa. Uma etapa é cancelada quando outra executada em
+     * paralelo falha primeiro (ex.: sessão fechada enquanto o associado é buscado).
+     */
+    public enum Status {
+        CONCLUIDA("concluida"),
+        ERRO("erro"),
+        CANCELADA("cancelada");
+
+        private final String tag;
+
+        Status(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Resultado do registro de um voto.
+     */
+    public enum Resultado {
+        ACEITO("aceito"),
+        DUPLICADO("duplicado"),
+        SESSAO_FECHADA("sessao-fechada"),
+        INATIVO("inativo"),
+        CPF_INAPTO("cpf-inapto"),
+        ASSOCIADO_INEXISTENTE("associado-inexistente"),
+        ERRO("erro");
+
+        private final String tag;
+
+        Resultado(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<Etapa, Map<Status, Timer>> etapas = new EnumMap<>(Etapa.class);
+    private final Map<Resultado, Counter> resultados = new EnumMap<>(Resultado.class);
+    private final Timer registro;
+
+    public VotoMetricas(MeterRegistry meterRegistry) {
+        for (Etapa etapa : Etapa.values()) {
+            Map<Status, Timer> timers = new EnumMap<>(Status.class);
+            for (Status status : Status.values()) {
+                timers.put(status, Timer.builder("votacao.voto.etapa")
+                    .description("Tempo de cada etapa do registro de um voto")
+                    .tag("etapa", etapa.tag)
+                    .tag("status", status.tag)
+                    .register(meterRegistry));
+            }
+            etapas.put(etapa, timers);
+        }
+        // Registrados antecipadamente para que todos os resultados sejam exportados, mesmo zerados
+        for (Resultado resultado : Resultado.values()) {
+            resultados.put(resultado, Counter.builder("votacao.voto.resultado")
+                .description("Votos recebidos por resultado do registro")
+                .tag("resultado", resultado.tag)
+                .register(meterRegistry));
+        }
+        this.registro = Timer.builder("votacao.voto.registro")
+            .description("Tempo total do registro de um voto, da requisição à gravação")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Mede uma etapa síncrona.
+     */
+    public <T> T medir(Etapa etapa, Supplier<T> execucao) {
+        return etapas.get(etapa).get(Status.CONCLUIDA).record(execucao);
+    }
+
+    /**
+     * Mede uma etapa reativa, da assinatura até a conclusão (com valor ou vazia), o erro ou o
+     * cancelamento, registrado com o status correspondente. O tempo também é anotado no
+     * {@link VotoEvento} do registro em andamento, se houver.
+     */
+    public <T> Mono<T> medir(Etapa etapa, Mono<T> execucao) {
+        Map<Status, Timer> timers = etapas.get(etapa);
+        return Mono.deferContextual(contexto -> {
+            long inicio = System.nanoTime();
+            VotoEvento evento = contexto.getOrDefault(VotoEvento.class, null);
+            // Um cancelamento logo após o valor não deve registrar a etapa uma segunda vez
+            AtomicBoolean registrada = new AtomicBoolean();
+            Consumer<Status> registrar = status -> {
+                if (!registrada.compareAndSet(false, true)) {
+                    return;
+                }
+                long nanos = System.nanoTime() - inicio;
+                timers.get(status).record(nanos, TimeUnit.NANOSECONDS);
+                if (evento != null) {
+                    evento.registrar(etapa, nanos);
+                }
+            };
+            return execucao
+                .doOnSuccess(valor -> registrar.accept(Status.CONCLUIDA))
+                .doOnError(ex -> registrar.accept(Status.ERRO))
+                .doOnCancel(() -> registrar.accept(Status.CANCELADA));
+        });
+    }
+
+    /**
+     * Mede o registro completo de um voto, conta o resultado e, com uma gravação JFR ativa,
+     * emite um {@link VotoEvento}.
+     */
+    public <T> Mono<T> medirRegistro(String pautaId, Mono<T> execucao) {
+        return Mono.defer(() -> {
+            long inicio = System.nanoTime();
+            VotoEvento evento = new VotoEvento(pautaId);
+            if (!evento.isEnabled()) {
+                return medirRegistro(execucao, inicio, null);
+            }
+            evento.begin();
+            return medirRegistro(execucao, inicio, evento)
+                .contextWrite(Context.of(VotoEvento.class, evento));
+        });
+    }
+
+    private <T> Mono<T> medirRegistro(Mono<T> execucao, long inicio, VotoEvento evento) {
+        return execucao
+            .doOnSuccess(valor -> contar(Resultado.ACEITO, evento))
+            .doOnError(ex -> contar(classificar(ex), evento))
+            .doOnTerminate(() -> {
+                registro.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                if (evento != null) {
+                    evento.commit();
+                }
+            });
+    }
+
+    private void contar(Resultado resultado, VotoEvento evento) {
+        resultados.get(resultado).increment();
+        if (evento != null) {
+            evento.resultado = resultado.tag;
+        }
+    }
+
+    /**
+     * Classifica a rejeição de um voto pelo erro devolvido pelo {@link VotoService}.
+     */
+    static Resultado classificar(Throwable ex) {
+        if (ex instanceof UnableToVoteException) {
+            return Resultado.CPF_INAPTO;
+        }
+        if (ex instanceof ResponseStatusException responseStatus) {
+            return switch (responseStatus.getStatusCode().value()) {
+                case 409 -> Resultado.DUPLICADO;
+                case 403 -> Resultado.INATIVO;
+                case 400 -> Resultado.SESSAO_FECHADA;
+                case 404 -> Resultado.ASSOCIADO_INEXISTENTE;
+                default -> Resultado.ERRO;
+            };
+        }
+        return Resultado.ERRO;
+    }
+}
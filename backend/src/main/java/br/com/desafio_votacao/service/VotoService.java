@@ -1,24 +1,33 @@
 package br.com.desafio_votacao.service;
 
+import br.com.desafio_votacao.cache.VotantesRegistry;
 import br.com.desafio_votacao.client.CpfValidator;
+import br.com.desafio_votacao.dto.ResultadoAtualizacaoDTO;
 import br.com.desafio_votacao.dto.VotoDTO;
-import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.dto.VotoExportacaoDTO;
+import br.com.desafio_votacao.dto.VotoLoteResultadoDTO;
 import br.com.desafio_votacao.exception.UnableToVoteException;
+import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
 import br.com.desafio_votacao.model.Voto;
 import br.com.desafio_votacao.repository.VotoRepository;
+import br.com.desafio_votacao.service.VotoMetricas.Etapa;
 
 import lombok.AllArgsConstructor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -26,6 +35,10 @@ import java.util.Map;
 public class VotoService {
     private static final Logger logger = LoggerFactory.getLogger(VotoService.class);
 
+    static final int TAMANHO_LOTE = 500;
+    static final int CONCORRENCIA_VALIDACAO_LOTE = 32;
+    static final int TAMANHO_LOTE_EXPORTACAO = 1000;
+
     
     private final VotoRepository votoRepository;
 
@@ -37,70 +50,238 @@ public class VotoService {
     
     
     private final AssociadoService associadoService;
+    
+    
+    private final VotoWriteBehindBuffer votoWriteBehindBuffer;
+    
+    
+    private final VotantesRegistry votantesRegistry;
+    
+    
+    private final ApuracaoService apuracaoService;
+    
+    
+    private final VotoMetricas votoMetricas;
 
+    /**
+     * Registra o voto de um associado em uma pauta.
+     *
+     * A busca do associado e a verificação da sessão são independentes e executadas
+     * em paralelo; as rejeições locais (associado inativo, sessão fechada) acontecem
+     * antes da consulta ao serviço externo de CPF. Reenvios de quem já votou são rejeitados
+     * em memória pelo {@link VotantesRegistry}; o índice único {@code pauta_associado_idx}
+     * continua detectando na gravação os duplicados que não estão em memória.
+     * O tempo de cada etapa e o resultado são registrados em {@link VotoMetricas} (e no JFR, em {@link VotoEvento}).
+     *
+     * @param pautaId ID da pauta
+     * @param votoDTO dados do voto
+     * @return Mono com o voto registrado
+     */
     public Mono<Voto> registrarVoto(String pautaId, VotoDTO votoDTO) {
-        return associadoService.buscarAssociadoPorId(votoDTO.getAssociadoId())
+        return votoMetricas.medirRegistro(pautaId, validarVoto(pautaId, votoDTO)
+            .flatMap(this::persistirVoto));
+    }
+
+    /**
+     * Executa todas as validações de um voto e devolve a entidade pronta para ser gravada.
+     *
+     * @param pautaId ID da pauta
+     * @param votoDTO dados do voto
+     * @return Mono com o voto validado (ainda não persistido)
+     */
+    Mono<Voto> validarVoto(String pautaId, VotoDTO votoDTO) {
+        if (votoMetricas.medir(Etapa.DEDUPLICACAO, () -> votantesRegistry.jaVotou(pautaId, votoDTO.getAssociadoId()))) {
+            logger.warn("Associado {} tentou votar mais de uma vez na pauta {}", votoDTO.getAssociadoId(), pautaId);
+            return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Associado já votou nesta pauta"));
+        }
+
+        Mono<Associado> associadoMono = votoMetricas.medir(Etapa.ASSOCIADO, associadoService.buscarAssociadoPorId(votoDTO.getAssociadoId()))
             .switchIfEmpty(Mono.error(new ResponseStatusException(
-                HttpStatus.NOT_FOUND, "Associado não encontrado com o ID: " + votoDTO.getAssociadoId())))
-            .flatMap(associado -> {
+                HttpStatus.NOT_FOUND, "Associado não encontrado com o ID: " + votoDTO.getAssociadoId())));
+
+        return Mono.zip(associadoMono, votoMetricas.medir(Etapa.SESSAO, pautaService.verificarSessaoAberta(pautaId)))
+            .flatMap(tuple -> {
+                Associado associado = tuple.getT1();
+                boolean sessaoAberta = tuple.getT2();
+
                 if (!associado.getAtivo()) {
                     logger.warn("Associado {} está inativo", votoDTO.getAssociadoId());
                     return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, 
                         "Associado está inativo e não pode votar"));
                 }
-                
-                return validarAssociadoPodeVotar(associado.getCpf())
+
+                if (!sessaoAberta) {
+                    logger.error("Tentativa de voto em sessão fechada para pauta {}", pautaId);
+                    return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, 
+                        "Sessão de votação não está aberta para esta pauta"));
+                }
+
+                return votoMetricas.medir(Etapa.CPF, validarAssociadoPodeVotar(associado.getCpf()))
                     .flatMap(podeVotar -> {
                         if (!podeVotar) {
                             logger.warn("Associado {} não está habilitado para votar", votoDTO.getAssociadoId());
                             return Mono.error(new UnableToVoteException(HttpStatus.NOT_FOUND));
                         }
-                        
-                        return pautaService.verificarSessaoAberta(pautaId)
-                            .flatMap(sessaoAberta -> {
-                                if (!sessaoAberta) {
-                                    logger.error("Tentativa de voto em sessão fechada para pauta {}", pautaId);
-                                    return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, 
-                                        "Sessão de votação não está aberta para esta pauta"));
-                                }
-
-                                return votoRepository.existsByPautaIdAndAssociadoId(pautaId, associado.getId())
-                                    .flatMap(jaVotou -> {
-                                        if (jaVotou) {
-                                            logger.warn("Associado {} tentou votar mais de uma vez na pauta {}", 
-                                                associado.getId(), pautaId);
-                                            return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, 
-                                                "Associado já votou nesta pauta"));
-                                        }
-
-                                        Voto voto = new Voto();
-                                        voto.setPautaId(pautaId);
-                                        voto.setAssociadoId(associado.getId());
-                                        voto.setOpcaoVoto(votoDTO.getVoto());
-                                        voto.setDataRegistro(LocalDateTime.now());
-
-                                        logger.info("Registrando voto do associado {} na pauta {}", 
-                                            associado.getId(), pautaId);
-                                        return votoRepository.save(voto);
-                                    });
-                            });
+
+                        Voto voto = new Voto();
+                        voto.setPautaId(pautaId);
+                        voto.setAssociadoId(associado.getId());
+                        voto.setOpcaoVoto(votoDTO.getVoto());
+                        voto.setDataRegistro(LocalDateTime.now());
+                        return Mono.just(voto);
+                    });
+            });
+    }
+
+    /**
+     * Grava o voto, convertendo a violação do índice único pauta/associado em 409.
+     * Com o buffer write-behind habilitado, a gravação é agrupada com a de outros votos.
+     * Em ambos os casos o voto é contabilizado na apuração da pauta após a gravação.
+     *
+     * @param voto voto já validado
+     * @return Mono com o voto gravado
+     */
+    private Mono<Voto> persistirVoto(Voto voto) {
+        logger.info("Registrando voto do associado {} na pauta {}", voto.getAssociadoId(), voto.getPautaId());
+
+        Mono<Voto> gravacao = votoWriteBehindBuffer.isHabilitado()
+            ? votoWriteBehindBuffer.enfileirar(voto)
+            : votoRepository.save(voto)
+                .flatMap(salvo -> apuracaoService.contabilizar(List.of(salvo)).thenReturn(salvo));
+
+        return votoMetricas.medir(Etapa.GRAVACAO, gravacao)
+            .doOnSuccess(salvo -> votantesRegistry.registrar(voto.getPautaId(), voto.getAssociadoId()))
+            .onErrorMap(DuplicateKeyException.class, ex -> {
+                votantesRegistry.registrar(voto.getPautaId(), voto.getAssociadoId());
+                logger.warn("Associado {} tentou votar mais de uma vez na pauta {}", 
+                    voto.getAssociadoId(), voto.getPautaId());
+                return new ResponseStatusException(HttpStatus.CONFLICT, "Associado já votou nesta pauta");
+            });
+    }
+
+    /**
+     * Registra um fluxo de votos recebidos em lote (ex.: postos de votação offline).
+     *
+     * Os votos são agrupados em lotes de {@value #TAMANHO_LOTE}; cada lote é validado com
+     * concorrência limitada e os votos aceitos são gravados com um único bulk insert não
+     * ordenado. Um resultado é emitido por item, na ordem de chegada.
+     *
+     * @param pautaId ID da pauta
+     * @param votos fluxo de votos
+     * @return Flux com o resultado de cada item
+     */
+    public Flux<VotoLoteResultadoDTO> registrarVotosEmLote(String pautaId, Flux<VotoDTO> votos) {
+        return votos.index()
+            .buffer(TAMANHO_LOTE)
+            .concatMap(grupo -> processarLote(pautaId, grupo));
+    }
+
+    private Flux<VotoLoteResultadoDTO> processarLote(String pautaId, List<Tuple2<Long, VotoDTO>> grupo) {
+        return Flux.fromIterable(grupo)
+            .flatMapSequential(item -> validarItemLote(pautaId, item.getT1(), item.getT2()), CONCORRENCIA_VALIDACAO_LOTE)
+            .collectList()
+            .flatMapMany(itens -> {
+                List<Voto> aceitos = itens.stream()
+                    .filter(item -> item.voto() != null)
+                    .map(ItemLote::voto)
+                    .toList();
+
+                logger.info("Gravando lote de {} votos na pauta {} ({} rejeitados na validação)", 
+                    aceitos.size(), pautaId, itens.size() - aceitos.size());
+
+                return votoRepository.inserirEmLote(aceitos)
+                    .flatMapMany(duplicados -> {
+                        List<VotoLoteResultadoDTO> resultados = new ArrayList<>(itens.size());
+                        List<Voto> gravados = new ArrayList<>(aceitos.size());
+                        int posicao = 0;
+                        for (ItemLote item : itens) {
+                            if (item.voto() == null) {
+                                resultados.add(item.resultado());
+                                continue;
+                            }
+
+                            votantesRegistry.registrar(pautaId, item.voto().getAssociadoId());
+                            if (duplicados.contains(posicao++)) {
+                                resultados.add(new VotoLoteResultadoDTO(item.indice(), item.voto().getAssociadoId(), 
+                                    HttpStatus.CONFLICT.value(), "Associado já votou nesta pauta", null));
+                            } else {
+                                gravados.add(item.voto());
+                                resultados.add(new VotoLoteResultadoDTO(item.indice(), item.voto().getAssociadoId(), 
+                                    HttpStatus.CREATED.value(), null, item.voto().getId()));
+                            }
+                        }
+                        return apuracaoService.contabilizar(gravados)
+                            .thenMany(Flux.fromIterable(resultados));
                     });
             });
     }
 
+    private Mono<ItemLote> validarItemLote(String pautaId, long indice, VotoDTO votoDTO) {
+        if (votoDTO.getAssociadoId() == null || votoDTO.getAssociadoId().isBlank() || votoDTO.getVoto() == null) {
+            return Mono.just(ItemLote.rejeitado(new VotoLoteResultadoDTO(indice, votoDTO.getAssociadoId(), 
+                HttpStatus.BAD_REQUEST.value(), "O ID do associado e o voto (SIM ou NAO) são obrigatórios", null)));
+        }
+
+        return validarVoto(pautaId, votoDTO)
+            .map(voto -> ItemLote.aceito(indice, voto))
+            .onErrorResume(ex -> {
+                int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
+                String mensagem = ex.getMessage();
+                if (ex instanceof UnableToVoteException unableToVote) {
+                    status = unableToVote.getStatus().value();
+                } else if (ex instanceof ResponseStatusException responseStatus) {
+                    status = responseStatus.getStatusCode().value();
+                    mensagem = responseStatus.getReason();
+                }
+                return Mono.just(ItemLote.rejeitado(
+                    new VotoLoteResultadoDTO(indice, votoDTO.getAssociadoId(), status, mensagem, null)));
+            });
+    }
+
+    /**
+     * Item de um lote após a validação: ou um voto pronto para gravação, ou o resultado da rejeição.
+     */
+    private record ItemLote(long indice, Voto voto, VotoLoteResultadoDTO resultado) {
+        static ItemLote aceito(long indice, Voto voto) {
+            return new ItemLote(indice, voto, null);
+        }
+
+        static ItemLote rejeitado(VotoLoteResultadoDTO resultado) {
+            return new ItemLote(resultado.indice(), null, resultado);
+        }
+    }
+
     public Flux<Voto> listarVotosPorPauta(String pautaId) {
         logger.info("Listando votos para a pauta {}", pautaId);
         return votoRepository.findByPautaId(pautaId);
     }
+
+    /**
+     * Exporta os votos da pauta em ordem de associado, para auditoria.
+     *
+     * Os votos são lidos do cursor em lotes de {@value #TAMANHO_LOTE_EXPORTACAO} conforme o
+     * cliente consome a resposta, de modo que a memória usada não depende da quantidade de votos.
+     * Uma exportação interrompida é retomada informando o último {@code associadoId} recebido.
+     *
+     * @param pautaId ID da pauta
+     * @param after último associado já exportado (nulo para o início)
+     * @return Flux com os votos exportados
+     */
+    public Flux<VotoExportacaoDTO> exportarVotosPorPauta(String pautaId, String after) {
+        logger.info("Exportando votos da pauta {} a partir do associado {}", pautaId, after);
+        return votoRepository.buscarParaExportacao(pautaId, after, TAMANHO_LOTE_EXPORTACAO)
+            .limitRate(TAMANHO_LOTE_EXPORTACAO)
+            .map(voto -> new VotoExportacaoDTO(voto.getAssociadoId(), voto.getOpcaoVoto(), voto.getDataRegistro()));
+    }
     
     /**
-     * Valida se um associado pode votar usando o serviço externo (fake)
+     * Valida se um associado pode votar usando o serviço externo de CPF
      * Implementação da Tarefa Bônus 1
      * 
      * @param cpf CPF do associado
      * @return Mono<Boolean> - true se pode votar, false caso contrário
      */
-    private Mono<Boolean> validarAssociadoPodeVotar(String cpf) {
+    private Mono<Boolean> validarAssociadoPodeVotar(Cpf cpf) {
         return cpfValidator.validarCpf(cpf)
             .flatMap(status -> {
                 if ("ABLE_TO_VOTE".equals(status.status())) {
@@ -115,22 +296,41 @@ public class VotoService {
                 if (ex instanceof UnableToVoteException) {
                     return Mono.error(ex);
                 }
+                // Serviço de CPF indisponível (política de fallback ERRO) não significa CPF inválido
+                if (ex instanceof ResponseStatusException responseStatus
+                        && responseStatus.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                    return Mono.error(ex);
+                }
                 // Se o client lançar 404, trate como CPF inválido
                 return Mono.error(new UnableToVoteException(HttpStatus.NOT_FOUND));
             });
     }
 
+    /**
+     * Retorna o resultado da votação a partir da apuração incremental da pauta,
+     * sem contar a coleção de votos.
+     *
+     * @param pautaId ID da pauta
+     * @return Mono com as chaves {@code sim}, {@code nao} e {@code total}
+     */
     public Mono<Map<String, Long>> contabilizarVotosPorPauta(String pautaId) {
-        Mono<Long> votosSim = votoRepository.countByPautaIdAndOpcaoVoto(pautaId, VotoOpcao.SIM);
-        Mono<Long> votosNao = votoRepository.countByPautaIdAndOpcaoVoto(pautaId, VotoOpcao.NAO);
-
-        return Mono.zip(votosSim, votosNao)
-            .map(tuple -> {
-                Map<String, Long> resultado = new HashMap<>();
-                resultado.put("sim", tuple.getT1());
-                resultado.put("nao", tuple.getT2());
-                resultado.put("total", tuple.getT1() + tuple.getT2());
-                return resultado;
-            });
+        return apuracaoService.obterResultado(pautaId);
+    }
+
+    /**
+     * Acompanha o resultado da votação conforme os votos são registrados. Apenas pautas com
+     * sessão aberta recebem atualizações; para as demais o resultado final é enviado uma vez
+     * e o stream é concluído.
+     *
+     * @param pautaId ID da pauta
+     * @return Flux com as atualizações do resultado, concluído no fechamento da sessão
+     */
+    public Flux<ResultadoAtualizacaoDTO> acompanharResultado(String pautaId) {
+        return pautaService.buscarPautaPorId(pautaId)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(
+                HttpStatus.NOT_FOUND, "Pauta não encontrada com o ID: " + pautaId)))
+            .flatMapMany(pauta -> Boolean.TRUE.equals(pauta.getSessaoAberta())
+                ? apuracaoService.acompanharResultado(pautaId)
+                : apuracaoService.obterResultadoFinal(pautaId));
     }
 }
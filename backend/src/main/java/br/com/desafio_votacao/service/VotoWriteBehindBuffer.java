@@ -0,0 +1,187 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.model.Voto;
+import br.com.desafio_votacao.repository.VotoRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffer de escrita (write-behind) para votos.
+ *
+ * Quando habilitado, os votos aceitos são enfileirados em memória e gravados em lotes
+ * (bulk insert não ordenado) ao atingir o tamanho máximo do lote ou a latência máxima,
+ * o que ocorrer primeiro. O Mono de cada chamador só é concluído quando o lote que
+ * contém o seu voto é confirmado pelo MongoDB; a apuração recebe um único incremento
+ * por pauta em cada lote.
+ *
+ * A fila é MPSC: as threads das requisições enfileiram concorrentemente, sem serialização
+ * nem espera ativa, e apenas o consumidor dos lotes a esvazia. Acima de {@code capacidade}
+ * votos pendentes (na fila ou em gravação) o voto é recusado com 503.
+ */
+@Component
+public class VotoWriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(VotoWriteBehindBuffer.class);
+
+    private static final Duration PRAZO_DRENAGEM = Duration.ofSeconds(10);
+
+    private final VotoRepository votoRepository;
+    private final ApuracaoService apuracaoService;
+    private final boolean habilitado;
+    private final int capacidade;
+    private final Sinks.Many<VotoPendente> fila;
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final CountDownLatch drenado = new CountDownLatch(1);
+    private final Timer tempoGravacao;
+    private final DistributionSummary tamanhoLotes;
+
+    public VotoWriteBehindBuffer(
+            VotoRepository votoRepository,
+            ApuracaoService apuracaoService,
+            MeterRegistry meterRegistry,
+            @Value("${votacao.voto.write-behind.habilitado:false}") boolean habilitado,
+            @Value("${votacao.voto.write-behind.tamanho-lote:500}") int tamanhoLote,
+            @Value("${votacao.voto.write-behind.latencia-maxima:5ms}") Duration latenciaMaxima,
+            @Value("${votacao.voto.write-behind.capacidade:16384}") int capacidade,
+            @Value("${votacao.voto.write-behind.gravacoes-simultaneas:4}") int gravacoesSimultaneas) {
+        this.votoRepository = votoRepository;
+        this.apuracaoService = apuracaoService;
+        this.habilitado = habilitado;
+        this.capacidade = capacidade;
+        // Sink sem serialização: a fila multiprodutor já suporta emissões concorrentes
+        this.fila = Sinks.unsafe().many().unicast().onBackpressureBuffer(Queues.<VotoPendente>unboundedMultiproducer().get());
+
+        Gauge.builder("votacao.voto.buffer.pendentes", pendentes, AtomicInteger::get)
+            .description("Votos aguardando gravação no buffer write-behind")
+            .register(meterRegistry);
+        this.tempoGravacao = Timer.builder("votacao.voto.buffer.gravacao")
+            .description("Tempo de gravação de cada lote do buffer write-behind")
+            .register(meterRegistry);
+        this.tamanhoLotes = DistributionSummary.builder("votacao.voto.buffer.lote")
+            .description("Quantidade de votos por lote gravado")
+            .register(meterRegistry);
+
+        if (habilitado) {
+            logger.info("Buffer write-behind de votos habilitado (lote: {}, latência máxima: {}, capacidade: {})",
+                tamanhoLote, latenciaMaxima, capacidade);
+
+            fila.asFlux()
+                .bufferTimeout(tamanhoLote, latenciaMaxima, true)
+                .flatMap(this::gravarLote, gravacoesSimultaneas)
+                .doFinally(signal -> drenado.countDown())
+                .subscribe(
+                    null,
+                    error -> logger.error("Buffer write-behind de votos interrompido", error));
+        } else {
+            drenado.countDown();
+        }
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Enfileira um voto para gravação em lote.
+     *
+     * @param voto voto já validado
+     * @return Mono com o voto gravado, concluído após a confirmação do lote
+     */
+    public Mono<Voto> enfileirar(Voto voto) {
+        return Mono.create(sink -> {
+            if (pendentes.incrementAndGet() > capacidade) {
+                pendentes.decrementAndGet();
+                logger.warn("Buffer write-behind de votos cheio ({} pendentes)", capacidade);
+                sink.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Fila de gravação de votos cheia, tente novamente"));
+                return;
+            }
+
+            Sinks.EmitResult resultado = fila.tryEmitNext(new VotoPendente(voto, sink));
+            if (resultado.isFailure()) {
+                pendentes.decrementAndGet();
+                logger.warn("Buffer write-behind de votos indisponível ({})", resultado);
+                sink.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Fila de gravação de votos indisponível, tente novamente"));
+            }
+        });
+    }
+
+    private Mono<Void> gravarLote(List<VotoPendente> lote) {
+        long inicio = System.nanoTime();
+        List<Voto> votos = lote.stream().map(VotoPendente::voto).toList();
+
+        return votoRepository.inserirEmLote(votos)
+            .flatMap(duplicados -> {
+                List<Voto> gravados = new ArrayList<>(votos.size());
+                for (int i = 0; i < votos.size(); i++) {
+                    if (!duplicados.contains(i)) {
+                        gravados.add(votos.get(i));
+                    }
+                }
+                return apuracaoService.contabilizar(gravados).thenReturn(duplicados);
+            })
+            .doOnNext(duplicados -> {
+                for (int i = 0; i < lote.size(); i++) {
+                    VotoPendente pendente = lote.get(i);
+                    if (duplicados.contains(i)) {
+                        pendente.sink().error(new DuplicateKeyException("Voto duplicado para a pauta " 
+                            + pendente.voto().getPautaId()));
+                    } else {
+                        pendente.sink().success(pendente.voto());
+                    }
+                }
+            })
+            .doOnError(ex -> {
+                logger.error("Falha ao gravar lote de {} votos", lote.size(), ex);
+                lote.forEach(pendente -> pendente.sink().error(ex));
+            })
+            .doFinally(signal -> {
+                tempoGravacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                tamanhoLotes.record(lote.size());
+                pendentes.addAndGet(-lote.size());
+            })
+            .onErrorResume(ex -> Mono.empty())
+            .then();
+    }
+
+    /**
+     * Encerra a fila e aguarda a gravação dos votos pendentes antes do desligamento.
+     */
+    @PreDestroy
+    public void drenar() throws InterruptedException {
+        if (!habilitado) {
+            return;
+        }
+
+        logger.info("Drenando buffer write-behind de votos ({} pendentes)", pendentes.get());
+        fila.tryEmitComplete();
+
+        if (!drenado.await(PRAZO_DRENAGEM.toMillis(), TimeUnit.MILLISECONDS)) {
+            logger.warn("Buffer write-behind não foi drenado em {}; {} votos pendentes", PRAZO_DRENAGEM, pendentes.get());
+        }
+    }
+
+    private record VotoPendente(Voto voto, MonoSink<Voto> sink) {}
+}
@@ -0,0 +1,57 @@
+package br.com.desafio_votacao.cache;
+
+import br.com.desafio_votacao.client.CpfValidator.CpfStatus;
+import br.com.desafio_votacao.model.Cpf;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CpfStatusCacheTest {
+
+    private CpfStatusCache cpfStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        cpfStatusCache = new CpfStatusCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void obter_QuandoConsultasSimultaneasParaMesmoCpf_DeveConsultarUmaUnicaVez() {
+        AtomicInteger consultas = new AtomicInteger();
+        Mono<CpfStatus> consultaLenta = Mono.delay(Duration.ofMillis(100))
+            .map(tick -> new CpfStatus("ABLE_TO_VOTE"));
+
+        Mono<CpfStatus> primeira = cpfStatusCache.obter(Cpf.of("58086250172"), cpf -> {
+            consultas.incrementAndGet();
+            return consultaLenta;
+        });
+        Mono<CpfStatus> segunda = cpfStatusCache.obter(Cpf.of("58086250172"), cpf -> {
+            consultas.incrementAndGet();
+            return consultaLenta;
+        });
+
+        StepVerifier.create(Mono.zip(primeira, segunda))
+            .assertNext(tuple -> assertEquals(tuple.getT1(), tuple.getT2()))
+            .verifyComplete();
+
+        assertEquals(1, consultas.get());
+    }
+
+    @Test
+    void obter_QuandoConsultaFalha_NaoDeveArmazenarErro() {
+        StepVerifier.create(cpfStatusCache.obter(Cpf.of("58086250172"), cpf -> Mono.error(new IllegalStateException("indisponível"))))
+            .expectError(IllegalStateException.class)
+            .verify();
+
+        StepVerifier.create(cpfStatusCache.obter(Cpf.of("58086250172"), cpf -> Mono.just(new CpfStatus("UNABLE_TO_VOTE"))))
+            .expectNext(new CpfStatus("UNABLE_TO_VOTE"))
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.desafio_votacao.cache;
+
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.model.Voto;
+import br.com.desafio_votacao.repository.VotoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VotantesRegistryTest {
+
+    private final VotoRepository votoRepository = mock(VotoRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void jaVotou_DeveReconhecerVotantesCarregadosERegistrados() {
+        List<String> carregados = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            carregados.add(new ObjectId().toHexString());
+        }
+        when(votoRepository.findAssociadoIdsByPautaId("p1"))
+            .thenReturn(Flux.fromIterable(carregados).map(this::voto));
+        VotantesRegistry registry = new VotantesRegistry(votoRepository, meterRegistry, 10_000);
+
+        StepVerifier.create(registry.carregar("p1"))
+            .expectNext(5000L)
+            .verifyComplete();
+        String novo = new ObjectId().toHexString();
+        registry.registrar("p1", novo);
+
+        assertTrue(carregados.stream().allMatch(id -> registry.jaVotou("p1", id)));
+        assertTrue(registry.jaVotou("p1", novo));
+        assertTrue(registry.jaVotou("p1", novo.toUpperCase()));
+        assertFalse(registry.jaVotou("p1", new ObjectId().toHexString()));
+        assertFalse(registry.jaVotou("p2", novo));
+        assertEquals(5001.0, meterRegistry.get("votacao.votantes.memoria").gauge().value());
+    }
+
+    @Test
+    void registrar_QuandoLimiteDaPautaAtingidoOuIdForaDoFormato_DeveDescartarSemEsquecerOsExistentes() {
+        when(votoRepository.findAssociadoIdsByPautaId("p1")).thenReturn(Flux.empty());
+        VotantesRegistry registry = new VotantesRegistry(votoRepository, meterRegistry, 2);
+        registry.carregar("p1").block();
+        String primeiro = new ObjectId().toHexString();
+        String segundo = new ObjectId().toHexString();
+        String excedente = new ObjectId().toHexString();
+
+        registry.registrar("p1", primeiro);
+        registry.registrar("p1", segundo);
+        registry.registrar("p1", excedente);
+        registry.registrar("p1", "assoc123");
+
+        assertTrue(registry.jaVotou("p1", primeiro));
+        assertTrue(registry.jaVotou("p1", segundo));
+        assertFalse(registry.jaVotou("p1", excedente));
+        assertFalse(registry.jaVotou("p1", "assoc123"));
+        assertEquals(2.0, meterRegistry.get("votacao.votantes.descartados").counter().count());
+    }
+
+    private Voto voto(String associadoId) {
+        return new Voto(null, "p1", associadoId, VotoOpcao.SIM, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,303 @@
+package br.com.desafio_votacao.carga;
+
+import br.com.desafio_votacao.carga.MedidorCarga.ResultadoEndpoint;
+import br.com.desafio_votacao.dto.AssociadoDTO;
+import br.com.desafio_votacao.dto.PautaDTO;
+import br.com.desafio_votacao.dto.VotoDTO;
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
+import br.com.desafio_votacao.model.Pauta;
+import br.com.desafio_votacao.repository.AssociadoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação completa contra um MongoDB embarcado e
+ * executa, ao mesmo tempo, uma tempestade de votos em uma única pauta, o polling do painel
+ * (listagem de pautas, resultado e status da sessão) e o tráfego de administração de
+ * associados. A vazão e os percentis p50/p95/p99 de cada endpoint são gravados em
+ * {@code target/carga/relatorio-carga.json} e comparados com os limites de {@link LimitesCarga}.
+ *
+ * Excluído da execução padrão dos testes; executar com {@code ./mvnw -Pcarga test}. O tamanho
+ * da carga é ajustado por propriedades de sistema ({@code carga.associados},
+ * {@code carga.concorrencia}, {@code carga.leitores}, {@code carga.administradores}); com
+ * {@code carga.mongodb.uri} o teste usa um MongoDB existente em vez do embarcado.
+ */
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    // Os logs INFO por requisição distorceriam as medições
+    "logging.level.br.com.desafio_votacao=WARN"
+})
+class CargaVotacaoTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargaVotacaoTest.class);
+
+    private static final int ASSOCIADOS = Integer.getInteger("carga.associados", 5_000);
+    private static final int CONCORRENCIA_VOTOS = Integer.getInteger("carga.concorrencia", 64);
+    private static final int LEITORES = Integer.getInteger("carga.leitores", 16);
+    private static final int ADMINISTRADORES = Integer.getInteger("carga.administradores", 4);
+    private static final int VOTOS_AQUECIMENTO = Math.min(ASSOCIADOS, 500);
+    private static final Duration INTERVALO_PAINEL = Duration.ofMillis(250);
+    private static final Duration INTERVALO_ADMINISTRACAO = Duration.ofMillis(100);
+    private static final Duration TIMEOUT_REQUISICAO = DurationStyle.detectAndParse(
+        System.getProperty("carga.timeout", "10s"));
+    private static final Path RELATORIO = Path.of(System.getProperty("carga.relatorio", "target/carga/relatorio-carga.json"));
+
+    /** Votos aceitos (201) ou recusados pelo serviço de CPF (404, o validador fake nega 30% dos CPFs) */
+    private static final Set<Integer> STATUS_VOTO = Set.of(201, 404);
+    private static final Set<Integer> STATUS_OK = Set.of(200);
+    private static final Set<Integer> STATUS_CRIADO = Set.of(201);
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private AssociadoRepository associadoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ConnectionProvider conexoes;
+    private WebClient cliente;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        String uri = System.getProperty("carga.mongodb.uri");
+        if (uri == null) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            ServerAddress endereco = mongod.current().getServerAddress();
+            uri = "mongodb://" + endereco.getHost() + ":" + endereco.getPort() + "/votacao-carga";
+        }
+        String mongoUri = uri;
+        registry.add("spring.data.mongodb.uri", () -> mongoUri);
+    }
+
+    @AfterAll
+    static void pararMongo() {
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Uma conexão por requisição simultânea, sem fila de espera no pool do cliente
+        conexoes = ConnectionProvider.builder("carga")
+            .maxConnections(CONCORRENCIA_VOTOS + LEITORES + ADMINISTRADORES)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        cliente = WebClient.builder()
+            .baseUrl("http://localhost:" + porta + "/api/v1")
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(conexoes)))
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        conexoes.dispose();
+    }
+
+    @Test
+    void votacaoSobCarga_DeveCumprirOsLimitesDeLatenciaEErros() throws Exception {
+        List<String> associados = cadastrarAssociados();
+
+        // Aquecimento (JIT, caches, pool de conexões) em outra pauta, fora das medições
+        String pautaAquecimento = criarPautaComSessaoAberta("Aquecimento");
+        MedidorCarga aquecimento = new MedidorCarga(TIMEOUT_REQUISICAO);
+        votar(aquecimento, pautaAquecimento, associados.subList(0, VOTOS_AQUECIMENTO)).block();
+
+        String pautaId = criarPautaComSessaoAberta("Pauta sob carga");
+        MedidorCarga medidor = new MedidorCarga(TIMEOUT_REQUISICAO);
+        AtomicBoolean votacaoEmAndamento = new AtomicBoolean(true);
+        AtomicInteger proximoCpf = new AtomicInteger(ASSOCIADOS);
+
+        LocalDateTime inicio = LocalDateTime.now();
+        long inicioNanos = System.nanoTime();
+
+        Mono<Long> votosAceitos = votar(medidor, pautaId, associados)
+            .doFinally(sinal -> votacaoEmAndamento.set(false));
+        Mono<Void> painel = Flux.range(0, LEITORES)
+            .flatMap(leitor -> cicloPainel(medidor, pautaId).repeat(votacaoEmAndamento::get), LEITORES)
+            .then();
+        Mono<Void> administracao = Flux.range(0, ADMINISTRADORES)
+            .flatMap(administrador -> cicloAdministracao(medidor, associados, proximoCpf).repeat(votacaoEmAndamento::get),
+                ADMINISTRADORES)
+            .then();
+
+        long aceitos = Mono.zip(votosAceitos, painel.thenReturn(true), administracao.thenReturn(true))
+            .map(resultado -> resultado.getT1())
+            .block(Duration.ofMinutes(30));
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicioNanos);
+
+        LimitesCarga limites = LimitesCarga.dasPropriedades();
+        List<ResultadoEndpoint> resultados = medidor.resultados(duracao, limites);
+        boolean aprovado = resultados.stream().allMatch(ResultadoEndpoint::aprovado);
+        gravarRelatorio(inicio, duracao, resultados, aprovado);
+
+        // Sob carga, cada voto aceito deve ter sido contabilizado exatamente uma vez
+        Map<String, Long> resultadoVotacao = cliente.get().uri("/pautas/{id}/votos/resultado", pautaId)
+            .retrieve()
+            .bodyToMono(new ParameterizedTypeReference<Map<String, Long>>() {})
+            .block();
+        assertEquals(aceitos, resultadoVotacao.get("total"));
+
+        assertTrue(aprovado, () -> "Limites de carga violados: " + resultados.stream()
+            .filter(resultado -> !resultado.aprovado())
+            .map(resultado -> String.format("%s (p99 %.1f ms / limite %d ms, %d erros em %d)", resultado.endpoint(),
+                resultado.p99Ms(), resultado.limiteP99Ms(), resultado.erros(), resultado.requisicoes()))
+            .toList());
+    }
+
+    /**
+     * Um voto por associado, com concorrência limitada.
+     *
+     * @return Mono com a quantidade de votos aceitos (201)
+     */
+    private Mono<Long> votar(MedidorCarga medidor, String pautaId, List<String> associados) {
+        return Flux.range(0, associados.size())
+            .flatMap(i -> medidor.medir("votar", STATUS_VOTO, cliente.post()
+                .uri("/pautas/{id}/votos", pautaId)
+                .bodyValue(new VotoDTO(associados.get(i), i % 3 == 0 ? VotoOpcao.NAO : VotoOpcao.SIM))), CONCORRENCIA_VOTOS)
+            .filter(status -> status == 201)
+            .count();
+    }
+
+    private Mono<Void> cicloPainel(MedidorCarga medidor, String pautaId) {
+        return medidor.medir("listar-pautas", STATUS_OK, cliente.get().uri("/pautas?page=0&size=10"))
+            .then(medidor.medir("resultado", STATUS_OK, cliente.get().uri("/pautas/{id}/votos/resultado", pautaId)))
+            .then(medidor.medir("status-sessao", STATUS_OK, cliente.get().uri("/pautas/{id}/sessao/status", pautaId)))
+            .then(Mono.delay(INTERVALO_PAINEL))
+            .then();
+    }
+
+    private Mono<Void> cicloAdministracao(MedidorCarga medidor, List<String> associados, AtomicInteger proximoCpf) {
+        String associadoId = associados.get(ThreadLocalRandom.current().nextInt(associados.size()));
+        return medidor.medir("listar-associados", STATUS_OK, cliente.get().uri("/associados?size=20&ativo=true"))
+            .then(medidor.medir("buscar-associado", STATUS_OK, cliente.get().uri("/associados/{id}", associadoId)))
+            .then(medidor.medir("cadastrar-associado", STATUS_CRIADO, cliente.post()
+                .uri("/associados")
+                .bodyValue(new AssociadoDTO(gerarCpf(proximoCpf.getAndIncrement()).toString()))))
+            .then(Mono.delay(INTERVALO_ADMINISTRACAO))
+            .then();
+    }
+
+    /**
+     * Cadastra os associados da tempestade de votos diretamente no repositório (fora das medições).
+     *
+     * @return IDs dos associados
+     */
+    private List<String> cadastrarAssociados() {
+        List<Cpf> cpfs = new ArrayList<>(ASSOCIADOS);
+        for (int i = 0; i < ASSOCIADOS; i++) {
+            cpfs.add(gerarCpf(i));
+        }
+        associadoRepository.cadastrarSeAusentes(cpfs).block();
+        return associadoRepository.findAll()
+            .map(Associado::getId)
+            .collectList()
+            .block();
+    }
+
+    private String criarPautaComSessaoAberta(String titulo) {
+        Pauta pauta = cliente.post().uri("/pautas")
+            .bodyValue(new PautaDTO(titulo, "Pauta criada pelo teste de carga"))
+            .retrieve()
+            .bodyToMono(Pauta.class)
+            .block();
+        cliente.post().uri("/pautas/{id}/sessao?duracaoMinutos=60", pauta.getId())
+            .retrieve()
+            .toBodilessEntity()
+            .block();
+        return pauta.getId();
+    }
+
+    private void gravarRelatorio(LocalDateTime inicio, Duration duracao, List<ResultadoEndpoint> resultados,
+            boolean aprovado) throws Exception {
+        Map<String, Object> configuracao = new LinkedHashMap<>();
+        configuracao.put("associados", ASSOCIADOS);
+        configuracao.put("concorrenciaVotos", CONCORRENCIA_VOTOS);
+        configuracao.put("leitores", LEITORES);
+        configuracao.put("administradores", ADMINISTRADORES);
+        configuracao.put("processadores", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("inicio", inicio);
+        relatorio.put("duracaoSegundos", duracao.toMillis() / 1000.0);
+        relatorio.put("configuracao", configuracao);
+        relatorio.put("endpoints", resultados);
+        relatorio.put("aprovado", aprovado);
+
+        Files.createDirectories(RELATORIO.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(RELATORIO.toFile(), relatorio);
+
+        resultados.forEach(resultado -> logger.warn("{}: {} req ({} erros), {} req/s, p50 {} ms, p95 {} ms, p99 {} ms{}",
+            resultado.endpoint(), resultado.requisicoes(), resultado.erros(),
+            String.format("%.1f", resultado.vazaoPorSegundo()), String.format("%.1f", resultado.p50Ms()),
+            String.format("%.1f", resultado.p95Ms()), String.format("%.1f", resultado.p99Ms()),
+            resultado.aprovado() ? "" : " - LIMITE VIOLADO"));
+        logger.warn("Relatório de carga gravado em {}", RELATORIO.toAbsolutePath());
+    }
+
+    /**
+     * Gera o n-ésimo CPF válido (base de 9 dígitos a partir de 100.000.000, mais os dígitos verificadores).
+     */
+    static Cpf gerarCpf(int n) {
+        long base = 100_000_000L + n;
+        int soma1 = 0;
+        int soma2 = 0;
+        long restante = base;
+        for (int posicao = 8; posicao >= 0; posicao--) {
+            int digito = (int) (restante % 10);
+            soma1 += digito * (10 - posicao);
+            soma2 += digito * (11 - posicao);
+            restante /= 10;
+        }
+        int dv1 = 11 - soma1 % 11 >= 10 ? 0 : 11 - soma1 % 11;
+        soma2 += dv1 * 2;
+        int dv2 = 11 - soma2 % 11 >= 10 ? 0 : 11 - soma2 % 11;
+        return Cpf.of(base * 100 + dv1 * 10 + dv2);
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.desafio_votacao.carga;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Limites (SLO) avaliados no relatório de carga: p99 máximo por endpoint e taxa máxima de erros.
+ *
+ * Os valores padrão podem ser sobrescritos por propriedades de sistema, ex.:
+ * {@code -Dcarga.slo.p99=500ms}, {@code -Dcarga.slo.p99.votar=1s} e {@code -Dcarga.slo.taxa-erro=0.05}.
+ */
+record LimitesCarga(Duration p99Padrao, Map<String, Duration> p99PorEndpoint, double taxaErroMaxima) {
+
+    private static final Map<String, Duration> P99_PADRAO_POR_ENDPOINT = Map.of(
+        "votar", Duration.ofMillis(300),
+        "cadastrar-associado", Duration.ofMillis(300));
+
+    static LimitesCarga dasPropriedades() {
+        return new LimitesCarga(
+            DurationStyle.detectAndParse(System.getProperty("carga.slo.p99", "200ms")),
+            P99_PADRAO_POR_ENDPOINT,
+            Double.parseDouble(System.getProperty("carga.slo.taxa-erro", "0.01")));
+    }
+
+    Duration p99(String endpoint) {
+        String propriedade = System.getProperty("carga.slo.p99." + endpoint);
+        if (propriedade != null) {
+            return DurationStyle.detectAndParse(propriedade);
+        }
+        return p99PorEndpoint.getOrDefault(endpoint, p99Padrao);
+    }
+}
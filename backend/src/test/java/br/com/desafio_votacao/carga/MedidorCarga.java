@@ -0,0 +1,142 @@
+package br.com.desafio_votacao.carga;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede as requisições dos cenários de carga por endpoint (latência e erros) e monta o
+ * relatório com a avaliação dos limites de cada endpoint.
+ *
+ * Uma requisição é considerada erro quando falha (ex.: timeout, conexão recusada) ou quando
+ * o status HTTP não está entre os esperados pelo cenário.
+ */
+class MedidorCarga {
+
+    private static final double[] PERCENTIS = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, Medicao> medicoes = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    MedidorCarga(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Executa e mede uma requisição. Erros são contabilizados e não interrompem o cenário.
+     *
+     * @param endpoint nome do endpoint no relatório
+     * @param esperados status HTTP considerados sucesso
+     * @param requisicao requisição a executar
+     * @return Mono com o status da resposta (vazio em caso de falha)
+     */
+    Mono<Integer> medir(String endpoint, Set<Integer> esperados, WebClient.RequestHeadersSpec<?> requisicao) {
+        Medicao medicao = medicoes.computeIfAbsent(endpoint, this::novaMedicao);
+        return Mono.defer(() -> {
+            long inicio = System.nanoTime();
+            return requisicao.exchangeToMono(resposta -> resposta.releaseBody().thenReturn(resposta.statusCode().value()))
+                .timeout(timeout)
+                .doOnNext(status -> medicao.registrar(System.nanoTime() - inicio, esperados.contains(status)))
+                .onErrorResume(ex -> {
+                    medicao.registrar(System.nanoTime() - inicio, false);
+                    return Mono.empty();
+                });
+        });
+    }
+
+    /**
+     * @param duracao duração total da execução dos cenários, usada no cálculo da vazão
+     * @param limites limites por endpoint
+     * @return resultado de cada endpoint medido, em ordem de nome
+     */
+    List<ResultadoEndpoint> resultados(Duration duracao, LimitesCarga limites) {
+        double segundos = duracao.toNanos() / 1e9;
+        return medicoes.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+            .map(entrada -> entrada.getValue().resultado(entrada.getKey(), segundos, limites))
+            .toList();
+    }
+
+    private Medicao novaMedicao(String endpoint) {
+        Timer latencia = Timer.builder("carga.latencia")
+            .tag("endpoint", endpoint)
+            .publishPercentiles(PERCENTIS)
+            .percentilePrecision(2)
+            // A janela padrão (2 min) descartaria o início de execuções longas
+            .distributionStatisticExpiry(Duration.ofHours(1))
+            .distributionStatisticBufferLength(1)
+            .register(meterRegistry);
+        Counter erros = Counter.builder("carga.erros").tag("endpoint", endpoint).register(meterRegistry);
+        return new Medicao(latencia, erros);
+    }
+
+    private record Medicao(Timer latencia, Counter erros) {
+
+        void registrar(long nanos, boolean sucesso) {
+            latencia.record(nanos, TimeUnit.NANOSECONDS);
+            if (!sucesso) {
+                erros.increment();
+            }
+        }
+
+        ResultadoEndpoint resultado(String endpoint, double segundos, LimitesCarga limites) {
+            HistogramSnapshot snapshot = latencia.takeSnapshot();
+            long requisicoes = snapshot.count();
+            long quantidadeErros = (long) erros.count();
+            double p50 = 0;
+            double p95 = 0;
+            double p99 = 0;
+            for (ValueAtPercentile percentil : snapshot.percentileValues()) {
+                double valor = percentil.value(TimeUnit.MILLISECONDS);
+                if (percentil.percentile() == 0.5) {
+                    p50 = valor;
+                } else if (percentil.percentile() == 0.95) {
+                    p95 = valor;
+                } else if (percentil.percentile() == 0.99) {
+                    p99 = valor;
+                }
+            }
+
+            double taxaErro = requisicoes == 0 ? 0 : (double) quantidadeErros / requisicoes;
+            Duration limiteP99 = limites.p99(endpoint);
+            boolean aprovado = requisicoes > 0
+                && p99 <= limiteP99.toNanos() / 1e6
+                && taxaErro <= limites.taxaErroMaxima();
+
+            return new ResultadoEndpoint(endpoint, requisicoes, quantidadeErros, requisicoes / segundos,
+                p50, p95, p99, snapshot.max(TimeUnit.MILLISECONDS),
+                limiteP99.toMillis(), limites.taxaErroMaxima(), aprovado);
+        }
+    }
+
+    /**
+     * Resultado de um endpoint no relatório de carga (latências em milissegundos).
+     */
+    record ResultadoEndpoint(
+        String endpoint,
+        long requisicoes,
+        long erros,
+        double vazaoPorSegundo,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms,
+        double maxMs,
+        long limiteP99Ms,
+        double taxaErroMaxima,
+        boolean aprovado
+    ) {}
+}
@@ -0,0 +1,74 @@
+package br.com.desafio_votacao.client;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP em processo que simula o serviço externo de elegibilidade de CPF
+ * ({@code GET /users/{cpf}}), com latência e taxa de erros configuráveis.
+ */
+public class CpfStubServer implements AutoCloseable {
+
+    private final DisposableServer server;
+    private final AtomicInteger requisicoes = new AtomicInteger();
+
+    private volatile Duration latencia = Duration.ZERO;
+    private volatile double taxaErros = 0;
+    private volatile String status = CpfValidator.ABLE_TO_VOTE;
+
+    public CpfStubServer() {
+        this.server = HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes.get("/users/{cpf}", (request, response) -> {
+                requisicoes.incrementAndGet();
+                String cpf = request.param("cpf");
+
+                return Mono.delay(latencia).then(Mono.defer(() -> {
+                    if (ThreadLocalRandom.current().nextDouble() < taxaErros) {
+                        return response.status(500).send().then();
+                    }
+                    if (cpf == null || !cpf.matches("\\d{11}")) {
+                        return response.status(404).send().then();
+                    }
+                    return response.header("Content-Type", "application/json")
+                        .sendString(Mono.just("{\"status\":\"" + status + "\"}"))
+                        .then();
+                }));
+            }))
+            .bindNow();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.port();
+    }
+
+    public CpfStubServer latencia(Duration latencia) {
+        this.latencia = latencia;
+        return this;
+    }
+
+    public CpfStubServer taxaErros(double taxaErros) {
+        this.taxaErros = taxaErros;
+        return this;
+    }
+
+    public CpfStubServer status(String status) {
+        this.status = status;
+        return this;
+    }
+
+    public int requisicoes() {
+        return requisicoes.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.desafio_votacao.client;
+
+import br.com.desafio_votacao.model.Cpf;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FakeCpfValidatorTest {
+
+    private final FakeCpfValidator validator = new FakeCpfValidator();
+
+    @Test
+    void validarCpf_DeveRetornarSempreOMesmoStatusParaOMesmoCpf() {
+        Stream.of("52998224725", "58086250172", "12345678909", "98765432100", "11144477735")
+            .map(Cpf::of)
+            .forEach(cpf -> {
+                String status = validator.validarCpf(cpf).block().status();
+                for (int i = 0; i < 10; i++) {
+                    assertEquals(status, validator.validarCpf(cpf).block().status());
+                }
+            });
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.desafio_votacao.client;
+
+import br.com.desafio_votacao.model.Cpf;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgingCpfValidatorTest {
+
+    private static final CpfValidator.CpfStatus ABLE = new CpfValidator.CpfStatus(CpfValidator.ABLE_TO_VOTE);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void validarCpf_QuandoPrimeiraChamadaLenta_DeveRetornarRespostaDoHedge() {
+        AtomicInteger chamadas = new AtomicInteger();
+        AtomicInteger canceladas = new AtomicInteger();
+        CpfValidator delegate = cpf -> chamadas.incrementAndGet() == 1
+            ? Mono.delay(Duration.ofSeconds(5)).map(tick -> ABLE).doOnCancel(canceladas::incrementAndGet)
+            : Mono.just(ABLE);
+
+        HedgingCpfValidator validator = new HedgingCpfValidator(delegate, 0.95, Duration.ofMillis(20), 1.0, meterRegistry);
+
+        StepVerifier.create(validator.validarCpf(Cpf.of("58086250172")))
+            .expectNext(ABLE)
+            .expectComplete()
+            .verify(Duration.ofSeconds(2));
+
+        assertEquals(2, chamadas.get());
+        assertEquals(1, canceladas.get());
+        assertEquals(1.0, meterRegistry.get("votacao.cpf.hedge").tag("evento", "vencedor").counter().count());
+    }
+
+    @Test
+    void validarCpf_QuandoSemOrcamento_NaoDeveDispararHedge() {
+        AtomicInteger chamadas = new AtomicInteger();
+        CpfValidator delegate = cpf -> {
+            chamadas.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(100)).map(tick -> ABLE);
+        };
+
+        HedgingCpfValidator validator = new HedgingCpfValidator(delegate, 0.95, Duration.ofMillis(10), 0.0, meterRegistry);
+
+        StepVerifier.create(validator.validarCpf(Cpf.of("58086250172")))
+            .expectNext(ABLE)
+            .verifyComplete();
+
+        assertEquals(1, chamadas.get());
+        assertEquals(1.0, meterRegistry.get("votacao.cpf.hedge").tag("evento", "sem-orcamento").counter().count());
+    }
+
+    @Test
+    void validarCpf_QuandoChamadaOriginalFalha_DevePropagarErroSemAguardarHedge() {
+        CpfValidator delegate = cpf -> Mono.error(new IllegalStateException("falha"));
+
+        HedgingCpfValidator validator = new HedgingCpfValidator(delegate, 0.95, Duration.ofSeconds(10), 1.0, meterRegistry);
+
+        StepVerifier.create(validator.validarCpf(Cpf.of("58086250172")))
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void atrasoAtual_DeveAcompanharPercentilDasLatencias() {
+        CpfValidator delegate = cpf -> Mono.delay(Duration.ofMillis(30)).map(tick -> ABLE);
+
+        HedgingCpfValidator validator = new HedgingCpfValidator(delegate, 0.5, Duration.ofMillis(1), 0.0, meterRegistry);
+
+        for (int i = 0; i < 64; i++) {
+            validator.validarCpf(Cpf.of("58086250172")).block();
+        }
+
+        assertTrue(validator.atrasoAtual().toMillis() >= 30);
+    }
+
+    @Test
+    void atrasoAtual_QuandoChamadasOriginaisLentasSaoCanceladas_DeveConsiderarTempoAteCancelamento() {
+        AtomicInteger chamadas = new AtomicInteger();
+        AtomicInteger canceladas = new AtomicInteger();
+        CpfValidator delegate = cpf -> chamadas.incrementAndGet() % 2 == 1
+            ? Mono.delay(Duration.ofSeconds(5)).map(tick -> ABLE).doOnCancel(canceladas::incrementAndGet)
+            : Mono.delay(Duration.ofMillis(20)).map(tick -> ABLE);
+
+        HedgingCpfValidator validator = new HedgingCpfValidator(delegate, 0.99, Duration.ofMillis(20), 1.0, meterRegistry);
+
+        // 32 originais canceladas e 32 hedges: 64 amostras, o suficiente para recalcular o atraso
+        for (int i = 0; i < 32; i++) {
+            validator.validarCpf(Cpf.of("58086250172")).block(Duration.ofSeconds(2));
+        }
+
+        assertEquals(32, canceladas.get());
+        // Cada original foi cancelada após o atraso de hedge (20ms) mais a resposta do hedge (20ms)
+        assertTrue(validator.atrasoAtual().toMillis() >= 40);
+    }
+}
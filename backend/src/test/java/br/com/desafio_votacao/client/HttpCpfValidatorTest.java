@@ -0,0 +1,117 @@
+package br.com.desafio_votacao.client;
+
+import br.com.desafio_votacao.cache.CpfStatusCache;
+import br.com.desafio_votacao.client.CachingCpfValidator.PoliticaFallback;
+import br.com.desafio_votacao.config.CpfValidatorConfig;
+import br.com.desafio_votacao.config.CpfValidatorProperties;
+import br.com.desafio_votacao.model.Cpf;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpCpfValidatorTest {
+
+    private CpfStubServer stub;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        stub = new CpfStubServer();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void validarCpf_QuandoServicoResponde_DeveRetornarStatus() {
+        stub.status(CpfValidator.UNABLE_TO_VOTE);
+        CpfValidator validator = criarValidator(Duration.ofSeconds(1), PoliticaFallback.NEGAR);
+
+        StepVerifier.create(validator.validarCpf(Cpf.of("58086250172")))
+            .expectNext(new CpfValidator.CpfStatus(CpfValidator.UNABLE_TO_VOTE))
+            .verifyComplete();
+
+        assertEquals(1L, meterRegistry.get("votacao.cpf.validador.latencia").timer().count());
+    }
+
+    @Test
+    void validarCpf_QuandoServicoExcedeTimeout_DeveAplicarFallback() {
+        stub.latencia(Duration.ofMillis(500));
+        CpfValidator validator = criarValidator(Duration.ofMillis(100), PoliticaFallback.NEGAR);
+
+        StepVerifier.create(validator.validarCpf(Cpf.of("58086250172")))
+            .expectNext(new CpfValidator.CpfStatus(CpfValidator.UNABLE_TO_VOTE))
+            .verifyComplete();
+    }
+
+    @Test
+    void validarCpf_QuandoFallbackErro_DeveRetornarServicoIndisponivel() {
+        stub.taxaErros(1.0);
+        CpfValidator validator = criarValidator(Duration.ofSeconds(1), PoliticaFallback.ERRO);
+
+        StepVerifier.create(validator.validarCpf(Cpf.of("58086250172")))
+            .expectErrorSatisfies(ex -> {
+                assertTrue(ex instanceof ResponseStatusException);
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((ResponseStatusException) ex).getStatusCode());
+            })
+            .verify();
+    }
+
+    @Test
+    void validarCpf_QuandoServicoFalhaRepetidamente_DeveAbrirCircuito() {
+        stub.taxaErros(1.0);
+        CpfValidator validator = criarValidator(Duration.ofSeconds(1), PoliticaFallback.NEGAR);
+
+        // CPFs distintos para não serem atendidos pelo cache
+        StepVerifier.create(Flux.range(0, 30)
+                .concatMap(i -> validator.validarCpf(Cpf.armazenado(10_000_000_000L + i))))
+            .expectNextCount(30)
+            .verifyComplete();
+
+        assertEquals(10, stub.requisicoes());
+    }
+
+    @Test
+    void validarCpf_QuandoBulkheadRecusaChamadas_NaoDeveAbrirCircuito() {
+        stub.latencia(Duration.ofMillis(200));
+        CpfValidator validator = criarValidator(Duration.ofSeconds(1), PoliticaFallback.NEGAR);
+
+        // 40 chamadas simultâneas para um bulkhead de 8: as excedentes recebem o fallback
+        StepVerifier.create(Flux.range(0, 40)
+                .flatMap(i -> validator.validarCpf(Cpf.armazenado(10_000_000_000L + i))))
+            .expectNextCount(40)
+            .verifyComplete();
+        assertEquals(8, stub.requisicoes());
+
+        stub.latencia(Duration.ZERO);
+        StepVerifier.create(validator.validarCpf(Cpf.of("58086250172")))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        assertEquals(9, stub.requisicoes());
+    }
+
+    private CpfValidator criarValidator(Duration timeoutResposta, PoliticaFallback fallback) {
+        CpfValidatorProperties properties = new CpfValidatorProperties(
+            CpfValidatorProperties.Tipo.HTTP, stub.url(), Duration.ofSeconds(1), timeoutResposta,
+            8, 50, 10, Duration.ofMinutes(1), fallback,
+            new CpfValidatorProperties.Hedging(false, 0.95, Duration.ofMillis(50), 0.1));
+        CpfStatusCache cache = new CpfStatusCache(meterRegistry, 1000, Duration.ofMinutes(1));
+
+        return new CpfValidatorConfig().cpfValidator(properties, cache, WebClient.builder(), meterRegistry);
+    }
+}
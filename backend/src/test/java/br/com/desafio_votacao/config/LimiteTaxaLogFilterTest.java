@@ -0,0 +1,62 @@
+package br.com.desafio_votacao.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LimiteTaxaLogFilterTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final AtomicLong segundo = new AtomicLong(1);
+    private LimiteTaxaLogFilter filtro;
+    private Logger votoLogger;
+
+    @BeforeEach
+    void setUp() {
+        filtro = new LimiteTaxaLogFilter(segundo::get);
+        filtro.setEventosPorSegundo(3);
+        filtro.addLogger("voto");
+        filtro.start();
+
+        votoLogger = loggerContext.getLogger("voto");
+        votoLogger.setLevel(Level.INFO);
+    }
+
+    @Test
+    void decide_QuandoLimiteExcedido_DeveDescartarInfoEManterWarn() {
+        int aceitas = 0;
+        for (int i = 0; i < 10; i++) {
+            if (filtro.decide(null, votoLogger, Level.INFO, "Registrando voto {}", null, null) == FilterReply.NEUTRAL) {
+                aceitas++;
+            }
+        }
+
+        assertEquals(3, aceitas);
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, votoLogger, Level.WARN, "Associado já votou", null, null));
+
+        // No segundo seguinte a cota é renovada
+        segundo.incrementAndGet();
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, votoLogger, Level.INFO, "Registrando voto {}", null, null));
+    }
+
+    @Test
+    void decide_QuandoLoggerNaoConfiguradoOuNivelDesabilitado_NaoDeveConsumirCota() {
+        Logger outro = loggerContext.getLogger("outro");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, filtro.decide(null, outro, Level.INFO, "mensagem", null, null));
+            // DEBUG está desabilitado para o logger "voto" e não conta no limite
+            filtro.decide(null, votoLogger, Level.DEBUG, "detalhe", null, null);
+            // Verificações de nível (sem mensagem) também não contam
+            filtro.decide(null, votoLogger, Level.INFO, null, null, null);
+        }
+
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, votoLogger, Level.INFO, "Registrando voto {}", null, null));
+    }
+}
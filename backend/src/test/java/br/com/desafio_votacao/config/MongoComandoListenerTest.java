@@ -0,0 +1,114 @@
+package br.com.desafio_votacao.config;
+
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.repository.VotoRepository;
+import com.mongodb.RequestContext;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.core.RepositoryInformation;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoComandoListenerTest {
+
+    private static final ConnectionDescription CONEXAO =
+        new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoComandoListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new MongoComandoListener(meterRegistry, Duration.ofMillis(100));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void commandSucceeded_QuandoComandoVemDeRepositorio_DeveRegistrarLatenciaEDocumentosPorOrigem() {
+        RepositoryInformation informacao = mock(RepositoryInformation.class);
+        when(informacao.getRepositoryInterface()).thenReturn((Class) VotoRepository.class);
+
+        // Simula o driver: obtém o contexto do assinante e publica os eventos do comando
+        MethodInterceptor driver = invocation -> Mono.from(assinante -> {
+            RequestContext contexto = OrigemRepositorio.contextProvider().getContext(assinante);
+            BsonDocument comando = new BsonDocument("count", new BsonString("votos"));
+            listener.commandStarted(new CommandStartedEvent(contexto, 1, 10, CONEXAO, "votacao-db", "count", comando));
+            listener.commandSucceeded(new CommandSucceededEvent(contexto, 1, 10, CONEXAO, "votacao-db", "count",
+                new BsonDocument("n", new BsonInt32(42)), TimeUnit.MILLISECONDS.toNanos(3)));
+            Mono.just(42L).subscribe(assinante);
+        });
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.addInterface(VotoRepository.class);
+        proxyFactory.addAdvice(new OrigemRepositorio.Interceptor(informacao));
+        proxyFactory.addAdvice(driver);
+        VotoRepository votoRepository = (VotoRepository) proxyFactory.getProxy();
+
+        StepVerifier.create(votoRepository.countByPautaIdAndOpcaoVoto("pauta", VotoOpcao.SIM))
+            .expectNext(42L)
+            .verifyComplete();
+
+        Timer timer = meterRegistry.find("votacao.mongodb.comando")
+            .tags("colecao", "votos", "comando", "count", "origem", "VotoRepository.countByPautaIdAndOpcaoVoto",
+                "status", "sucesso")
+            .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        DistributionSummary documentos = meterRegistry.find("votacao.mongodb.documentos")
+            .tag("origem", "VotoRepository.countByPautaIdAndOpcaoVoto")
+            .summary();
+        assertNotNull(documentos);
+        assertEquals(42.0, documentos.totalAmount());
+    }
+
+    @Test
+    void commandFailed_QuandoComandoSemOrigem_DeveRegistrarComoTemplate() {
+        BsonDocument comando = new BsonDocument("getMore", new BsonInt32(1)).append("collection", new BsonString("pautas"));
+        listener.commandStarted(new CommandStartedEvent(null, 2, 20, CONEXAO, "votacao-db", "getMore", comando));
+        listener.commandFailed(new CommandFailedEvent(null, 2, 20, CONEXAO, "votacao-db", "getMore",
+            TimeUnit.MILLISECONDS.toNanos(150), new IllegalStateException("cursor expirado")));
+
+        Timer timer = meterRegistry.find("votacao.mongodb.comando")
+            .tags("colecao", "pautas", "origem", OrigemRepositorio.SEM_ORIGEM, "status", "falha")
+            .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void documentos_DeveContarLoteDoCursorOuDocumentosAfetados() {
+        BsonDocument find = new BsonDocument("cursor", new BsonDocument("firstBatch",
+            new BsonArray(List.of(new BsonDocument(), new BsonDocument()))));
+        BsonDocument update = new BsonDocument("n", new BsonInt32(3));
+
+        assertEquals(2L, MongoComandoListener.documentos(find));
+        assertEquals(3L, MongoComandoListener.documentos(update));
+        assertNull(MongoComandoListener.documentos(new BsonDocument("ok", new BsonInt32(1))));
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.desafio_votacao.config;
+
+import br.com.desafio_votacao.model.Cpf;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MongoConfigTest {
+
+    private final MongoConfig.TextoParaCpf textoParaCpf = new MongoConfig.TextoParaCpf();
+
+    @Test
+    void textoParaCpf_ComCpfLegadoValido_DeveConverter() {
+        assertEquals(Cpf.of("52998224725"), textoParaCpf.convert("529.982.247-25"));
+    }
+
+    @Test
+    void textoParaCpf_ComCpfLegadoInvalido_DeveRetornarNuloSemFalhar() {
+        assertNull(textoParaCpf.convert("529.982.247-24"));
+        assertNull(textoParaCpf.convert("sem cpf"));
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.desafio_votacao.jfr;
+
+import br.com.desafio_votacao.service.VotoMetricas;
+import br.com.desafio_votacao.service.VotoMetricas.Etapa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrMonitorTest {
+
+    private JfrMonitor jfrMonitor;
+
+    @BeforeEach
+    void setUp() {
+        jfrMonitor = new JfrMonitor(true, Duration.ofMinutes(5), Duration.ofMillis(20), 5);
+        jfrMonitor.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jfrMonitor.encerrar();
+    }
+
+    @Test
+    void resumo_DeveListarVotosAcimaDoLimiteComTempoDasEtapas() throws InterruptedException {
+        VotoMetricas votoMetricas = new VotoMetricas(new SimpleMeterRegistry());
+
+        votoMetricas.medirRegistro("pauta-lenta",
+                votoMetricas.medir(Etapa.CPF, Mono.delay(Duration.ofMillis(50)).thenReturn("voto")))
+            .block();
+        // Abaixo do limite do evento: não deve aparecer no resumo
+        votoMetricas.medirRegistro("pauta-rapida", Mono.just("voto")).block();
+
+        List<JfrMonitor.VotoLento> votos = aguardarVotos(1);
+
+        assertEquals(1, votos.size());
+        JfrMonitor.VotoLento voto = votos.get(0);
+        assertEquals("pauta-lenta", voto.pautaId());
+        assertEquals("aceito", voto.resultado());
+        assertTrue(voto.duracaoMs() >= 50);
+        assertTrue(voto.etapasMs().get("cpf") >= 50);
+        assertTrue(jfrMonitor.resumo().habilitado());
+    }
+
+    @Test
+    void resumo_DeveEstimarAlocacaoEPausasDeGc() throws InterruptedException {
+        List<byte[]> blocos = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            blocos.add(new byte[64 * 1024]);
+        }
+        blocos.clear();
+        System.gc();
+
+        JfrMonitor.ResumoJfr resumo = jfrMonitor.resumo();
+        for (int tentativa = 0; tentativa < 50 && resumo.gc().coletas() == 0; tentativa++) {
+            Thread.sleep(100);
+            resumo = jfrMonitor.resumo();
+        }
+
+        assertTrue(resumo.gc().coletas() > 0);
+        assertTrue(resumo.alocacao().bytesPorSegundo() > 0);
+    }
+
+    @Test
+    void resumo_QuandoDesabilitado_NaoDeveIniciarGravacao() {
+        JfrMonitor desabilitado = new JfrMonitor(false, Duration.ofMinutes(5), Duration.ofMillis(1), 5);
+        desabilitado.iniciar();
+
+        assertFalse(desabilitado.resumo().habilitado());
+    }
+
+    private List<JfrMonitor.VotoLento> aguardarVotos(int esperados) throws InterruptedException {
+        // Os eventos chegam ao stream em lotes, a cada flush do JFR (cerca de 1s)
+        for (int tentativa = 0; tentativa < 50; tentativa++) {
+            List<JfrMonitor.VotoLento> votos = jfrMonitor.resumo().votosMaisLentos();
+            if (votos.size() >= esperados) {
+                return votos;
+            }
+            Thread.sleep(100);
+        }
+        return jfrMonitor.resumo().votosMaisLentos();
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.desafio_votacao.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CpfTest {
+
+    @Test
+    void of_ComCpfFormatado_DeveIgnorarPontuacao() {
+        Cpf cpf = Cpf.of("529.982.247-25");
+
+        assertEquals(52998224725L, cpf.valor());
+        assertEquals(Cpf.of("52998224725"), cpf);
+        assertEquals("52998224725", cpf.toString());
+    }
+
+    @Test
+    void of_ComOutrosSeparadores_DeveIgnorarQualquerCaractereQueNaoSejaDigito() {
+        assertEquals(Cpf.of("52998224725"), Cpf.of("529/982/247_25"));
+        assertEquals(Cpf.of("52998224725"), Cpf.of(" CPF: 529.982.247-25\t"));
+    }
+
+    @Test
+    void valido_ComDigitosVerificadoresIncorretosOuTamanhoErrado_DeveRetornarFalse() {
+        assertFalse(Cpf.valido("52998224724"));
+        assertFalse(Cpf.valido("11111111111"));
+        assertFalse(Cpf.valido("5299822472"));
+        assertFalse(Cpf.valido("529982247255"));
+        assertFalse(Cpf.valido("5299822472a"));
+        assertFalse(Cpf.valido(null));
+        assertTrue(Cpf.valido("58086250172"));
+    }
+
+    @Test
+    void analisar_DeveRetornarCpfOuVazioSemLancarExcecao() {
+        assertEquals(Optional.of(Cpf.of("52998224725")), Cpf.analisar("529.982.247-25"));
+        assertTrue(Cpf.analisar("52998224724").isEmpty());
+        assertTrue(Cpf.analisar(null).isEmpty());
+    }
+
+    @Test
+    void toString_ComZerosAEsquerda_DeveManterOnzeDigitos() {
+        Cpf cpf = Cpf.of("000.000.001-91");
+
+        assertEquals(191L, cpf.valor());
+        assertEquals("00000000191", cpf.toString());
+        assertEquals(cpf, Cpf.of(191L));
+    }
+
+    @Test
+    void of_ComNumeroInvalido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> Cpf.of(52998224724L));
+        assertThrows(IllegalArgumentException.class, () -> Cpf.of(22222222222L));
+        assertThrows(IllegalArgumentException.class, () -> Cpf.of(-1L));
+    }
+
+    @Test
+    void mascarado_DeveExibirApenasDigitosCentrais() {
+        assertEquals("***.982.247-**", Cpf.of("52998224725").mascarado());
+    }
+}
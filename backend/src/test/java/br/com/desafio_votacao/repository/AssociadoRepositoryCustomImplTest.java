@@ -0,0 +1,113 @@
+package br.com.desafio_votacao.repository;
+
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Executa a migração de CPFs em texto contra um MongoDB embarcado.
+ *
+ * Excluído da execução padrão dos testes; executar com {@code ./mvnw -Pmongodb test}. Com
+ * {@code mongodb.uri} o teste usa um MongoDB existente em vez do embarcado.
+ */
+@Tag("mongodb")
+class AssociadoRepositoryCustomImplTest {
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private static MongoClient mongoClient;
+
+    private MongoCollection<Document> associados;
+    private AssociadoRepositoryCustomImpl repository;
+
+    @BeforeAll
+    static void iniciarMongo() {
+        String uri = System.getProperty("mongodb.uri");
+        if (uri == null) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            ServerAddress endereco = mongod.current().getServerAddress();
+            uri = "mongodb://" + endereco.getHost() + ":" + endereco.getPort();
+        }
+        mongoClient = MongoClients.create(uri);
+    }
+
+    @AfterAll
+    static void pararMongo() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReactiveMongoTemplate mongoTemplate = new ReactiveMongoTemplate(mongoClient, "votacao-teste");
+        repository = new AssociadoRepositoryCustomImpl(mongoTemplate);
+        associados = mongoClient.getDatabase("votacao-teste").getCollection("associados");
+
+        Mono.from(associados.drop())
+            .then(Mono.from(associados.createIndex(Indexes.ascending("cpf"), new IndexOptions().unique(true))))
+            .block();
+    }
+
+    @Test
+    void migrarCpfsTexto_DeveConverterCpfsEManterConflitantesComoTexto() {
+        Mono.from(associados.insertMany(List.of(
+            new Document("_id", "formatado").append("cpf", "529.982.247-25"),
+            new Document("_id", "repetido").append("cpf", "52998224725"),
+            new Document("_id", "numerico").append("cpf", 58086250172L),
+            new Document("_id", "ja-cadastrado").append("cpf", "580.862.501-72"),
+            new Document("_id", "com-espacos").append("cpf", " 123 456 789/09 "),
+            new Document("_id", "invalido").append("cpf", "abc")))).block();
+
+        StepVerifier.create(repository.migrarCpfsTexto())
+            .assertNext(migracao -> {
+                assertEquals(2, migracao.convertidos());
+                assertEquals(Set.of("repetido", "ja-cadastrado"), Set.copyOf(migracao.conflitantes()));
+            })
+            .verifyComplete();
+
+        Map<String, Object> cpfs = Flux.from(associados.find())
+            .collect(Collectors.toMap(documento -> documento.getString("_id"), documento -> documento.get("cpf")))
+            .block();
+        assertEquals(52998224725L, cpfs.get("formatado"));
+        assertEquals(12345678909L, cpfs.get("com-espacos"));
+        assertEquals(58086250172L, cpfs.get("numerico"));
+        assertEquals("52998224725", cpfs.get("repetido"));
+        assertEquals("580.862.501-72", cpfs.get("ja-cadastrado"));
+        assertEquals("abc", cpfs.get("invalido"));
+
+        // Nova execução: nada a converter, os mesmos conflitantes
+        StepVerifier.create(repository.migrarCpfsTexto())
+            .assertNext(migracao -> {
+                assertEquals(0, migracao.convertidos());
+                assertEquals(Set.of("repetido", "ja-cadastrado"), Set.copyOf(migracao.conflitantes()));
+            })
+            .verifyComplete();
+    }
+}
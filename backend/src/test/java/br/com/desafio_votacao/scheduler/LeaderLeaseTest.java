@@ -0,0 +1,78 @@
+package br.com.desafio_votacao.scheduler;
+
+import br.com.desafio_votacao.model.Lease;
+import br.com.desafio_votacao.repository.LeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderLeaseTest {
+
+    private final LeaseRepository leaseRepository = mock(LeaseRepository.class);
+
+    private LeaderLease leaderLease;
+
+    @BeforeEach
+    void setUp() {
+        // Sem lease na primeira tentativa; a renovação periódica não volta a disparar durante o teste
+        when(leaseRepository.adquirir(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.empty());
+        leaderLease = new LeaderLease(leaseRepository, new SimpleMeterRegistry(),
+            "teste", Duration.ofSeconds(30), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderLease.liberar();
+    }
+
+    @Test
+    void renovar_QuandoLeaseAdquirido_DeveSerLider() {
+        when(leaseRepository.adquirir(eq("teste"), anyString(), eq(Duration.ofSeconds(30))))
+            .thenReturn(Mono.just(lease(5L)));
+
+        StepVerifier.create(leaderLease.renovar())
+            .verifyComplete();
+
+        assertEquals(5L, leaderLease.token().getAsLong());
+    }
+
+    @Test
+    void renovar_QuandoLeaseDeOutraInstancia_DeveDeixarDeSerLider() {
+        when(leaseRepository.adquirir(eq("teste"), anyString(), any(Duration.class)))
+            .thenReturn(Mono.just(lease(5L)))
+            .thenReturn(Mono.empty());
+
+        StepVerifier.create(leaderLease.renovar().then(leaderLease.renovar()))
+            .verifyComplete();
+
+        assertFalse(leaderLease.token().isPresent());
+    }
+
+    @Test
+    void liberar_QuandoNaoLider_NaoDeveConsultarRepositorio() {
+        leaderLease.liberar();
+
+        assertFalse(leaderLease.token().isPresent());
+        verify(leaseRepository, never()).liberar(anyString(), anyString());
+    }
+
+    private static Lease lease(long token) {
+        return new Lease("teste", "instancia", token, LocalDateTime.now().plusSeconds(30));
+    }
+}
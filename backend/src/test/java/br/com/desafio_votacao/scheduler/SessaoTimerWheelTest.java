@@ -0,0 +1,64 @@
+package br.com.desafio_votacao.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessaoTimerWheelTest {
+
+    private final SessaoTimerWheel timerWheel = new SessaoTimerWheel(new SimpleMeterRegistry(), Duration.ofMillis(10), 64);
+
+    @AfterEach
+    void tearDown() {
+        timerWheel.parar();
+    }
+
+    @Test
+    void agendar_DeveDispararNoFimDaSessao() throws InterruptedException {
+        CountDownLatch disparado = new CountDownLatch(1);
+        long inicio = System.nanoTime();
+
+        timerWheel.agendar("p1", LocalDateTime.now().plus(Duration.ofMillis(200)), disparado::countDown);
+
+        assertTrue(disparado.await(2, TimeUnit.SECONDS));
+        long decorridoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        assertTrue(decorridoMs >= 180, "disparou antes do prazo: " + decorridoMs + " ms");
+        assertEquals(0, timerWheel.quantidade());
+    }
+
+    @Test
+    void agendar_QuandoReagendado_DeveDispararApenasOUltimo() throws InterruptedException {
+        AtomicInteger disparos = new AtomicInteger();
+        CountDownLatch ultimo = new CountDownLatch(1);
+
+        timerWheel.agendar("p1", LocalDateTime.now().plus(Duration.ofMillis(50)), disparos::incrementAndGet);
+        timerWheel.agendar("p1", LocalDateTime.now().plus(Duration.ofMillis(150)), () -> {
+            disparos.incrementAndGet();
+            ultimo.countDown();
+        });
+
+        assertTrue(ultimo.await(2, TimeUnit.SECONDS));
+        assertEquals(1, disparos.get());
+    }
+
+    @Test
+    void cancelar_DeveImpedirODisparo() throws InterruptedException {
+        AtomicInteger disparos = new AtomicInteger();
+
+        timerWheel.agendar("p1", LocalDateTime.now().plus(Duration.ofMillis(50)), disparos::incrementAndGet);
+        timerWheel.cancelar("p1");
+
+        Thread.sleep(200);
+        assertEquals(0, disparos.get());
+        assertEquals(0, timerWheel.quantidade());
+    }
+}
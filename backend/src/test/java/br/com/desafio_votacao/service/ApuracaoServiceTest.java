@@ -0,0 +1,205 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.model.Apuracao;
+import br.com.desafio_votacao.model.Voto;
+import br.com.desafio_votacao.repository.ApuracaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApuracaoServiceTest {
+
+    @Mock
+    private ApuracaoRepository apuracaoRepository;
+
+    @Mock
+    private ResultadoNotificador resultadoNotificador;
+
+    @InjectMocks
+    private ApuracaoService apuracaoService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void contabilizar_DeveGerarUmIncrementoPorPauta() {
+        when(apuracaoRepository.incrementar("p1", 2, 1)).thenReturn(Mono.just(true));
+        when(apuracaoRepository.incrementar("p2", 0, 1)).thenReturn(Mono.just(true));
+
+        List<Voto> votos = List.of(
+            novoVoto("p1", VotoOpcao.SIM),
+            novoVoto("p1", VotoOpcao.NAO),
+            novoVoto("p1", VotoOpcao.SIM),
+            novoVoto("p2", VotoOpcao.NAO));
+
+        StepVerifier.create(apuracaoService.contabilizar(votos))
+            .verifyComplete();
+
+        verify(apuracaoRepository).incrementar("p1", 2, 1);
+        verify(apuracaoRepository).incrementar("p2", 0, 1);
+    }
+
+    @Test
+    void obterResultado_DeveLerDocumentoCompartilhadoAposContabilizar() {
+        when(apuracaoRepository.incrementar("p1", 1, 0)).thenReturn(Mono.just(true));
+        // O documento inclui os votos contabilizados por outras instâncias
+        when(apuracaoRepository.findById("p1")).thenReturn(Mono.just(new Apuracao("p1", 40, 2)));
+
+        StepVerifier.create(apuracaoService.contabilizar(List.of(novoVoto("p1", VotoOpcao.SIM)))
+                .then(apuracaoService.obterResultado("p1")))
+            .assertNext(resultado -> {
+                assertEquals(40L, resultado.get("sim"));
+                assertEquals(2L, resultado.get("nao"));
+                assertEquals(42L, resultado.get("total"));
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void contabilizar_QuandoApuracaoJaCongelada_DeveRecontarPauta() {
+        // Voto aceito antes do prazo e gravado depois do congelamento
+        when(apuracaoRepository.incrementar("p1", 1, 0)).thenReturn(Mono.just(false));
+        when(apuracaoRepository.contarVotos("p1")).thenReturn(Mono.just(new Apuracao("p1", 11, 4)));
+        when(apuracaoRepository.gravarContagem("p1", 11, 4))
+            .thenReturn(Mono.just(new Apuracao("p1", 11, 4, true, LocalDateTime.now())));
+
+        StepVerifier.create(apuracaoService.contabilizar(List.of(novoVoto("p1", VotoOpcao.SIM))))
+            .verifyComplete();
+
+        verify(apuracaoRepository).gravarContagem("p1", 11, 4);
+    }
+
+    @Test
+    void obterResultado_DeveLerDocumentoDeApuracao() {
+        when(apuracaoRepository.findById("p1")).thenReturn(Mono.just(new Apuracao("p1", 3, 2)));
+
+        StepVerifier.create(apuracaoService.obterResultado("p1"))
+            .assertNext(resultado -> assertEquals(5L, resultado.get("total")))
+            .verifyComplete();
+    }
+
+    @Test
+    void obterResultado_QuandoPautaSemVotos_DeveRetornarZeros() {
+        when(apuracaoRepository.findById(anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(apuracaoService.obterResultado("p1"))
+            .assertNext(resultado -> {
+                assertEquals(0L, resultado.get("sim"));
+                assertEquals(0L, resultado.get("nao"));
+                assertEquals(0L, resultado.get("total"));
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void contabilizar_QuandoFalhaAoIncrementar_NaoDevePropagarErro() {
+        when(apuracaoRepository.incrementar("p1", 1, 0)).thenReturn(Mono.error(new RuntimeException("timeout")));
+
+        StepVerifier.create(apuracaoService.contabilizar(List.of(novoVoto("p1", VotoOpcao.SIM))))
+            .verifyComplete();
+
+        verify(apuracaoRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void encerrar_DeveCongelarAntesDeContarPorAgregacao() {
+        when(apuracaoRepository.congelar(eq("p1"), any())).thenReturn(Mono.empty());
+        when(apuracaoRepository.contarVotos("p1")).thenReturn(Mono.just(new Apuracao("p1", 10, 4)));
+        when(apuracaoRepository.gravarContagem("p1", 10, 4))
+            .thenReturn(Mono.just(new Apuracao("p1", 10, 4, true, LocalDateTime.now())));
+
+        StepVerifier.create(apuracaoService.encerrar("p1"))
+            .assertNext(apuracao -> {
+                assertTrue(apuracao.isEncerrada());
+                assertEquals(10L, apuracao.getSim());
+                assertEquals(4L, apuracao.getNao());
+            })
+            .verifyComplete();
+
+        InOrder ordem = inOrder(apuracaoRepository);
+        ordem.verify(apuracaoRepository).congelar(eq("p1"), any());
+        ordem.verify(apuracaoRepository).contarVotos("p1");
+        verify(apuracaoRepository, never()).save(any(Apuracao.class));
+        verify(resultadoNotificador).encerrar("p1");
+    }
+
+    @Test
+    void encerrar_QuandoPautaSemVotos_DeveCongelarResultadoZerado() {
+        when(apuracaoRepository.congelar(eq("p1"), any())).thenReturn(Mono.empty());
+        when(apuracaoRepository.contarVotos("p1")).thenReturn(Mono.empty());
+        when(apuracaoRepository.gravarContagem("p1", 0, 0))
+            .thenReturn(Mono.just(new Apuracao("p1", 0, 0, true, LocalDateTime.now())));
+
+        StepVerifier.create(apuracaoService.encerrar("p1"))
+            .assertNext(apuracao -> {
+                assertTrue(apuracao.isEncerrada());
+                assertEquals("p1", apuracao.getPautaId());
+                assertEquals(0L, apuracao.getSim() + apuracao.getNao());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void acompanharResultado_QuandoPautaEncerrada_DeveEmitirResultadoFinalEConcluir() {
+        when(apuracaoRepository.findById("p1")).thenReturn(Mono.just(new Apuracao("p1", 3, 2, true, LocalDateTime.now())));
+        ApuracaoService apuracaoService = new ApuracaoService(apuracaoRepository, new ResultadoNotificador(20));
+
+        StepVerifier.create(apuracaoService.acompanharResultado("p1"))
+            .assertNext(atualizacao -> {
+                assertTrue(atualizacao.encerrada());
+                assertEquals(5L, atualizacao.resultado().get("total"));
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void reabrir_QuandoApuracaoEncerrada_DeveReabrirApuracao() {
+        when(apuracaoRepository.findById("p1")).thenReturn(Mono.just(new Apuracao("p1", 3, 2, true, LocalDateTime.now())));
+        when(apuracaoRepository.save(any(Apuracao.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(apuracaoService.reabrir("p1"))
+            .verifyComplete();
+
+        verify(apuracaoRepository).save(argThat(apuracao -> !apuracao.isEncerrada()));
+    }
+
+    @Test
+    void reabrir_QuandoApuracaoEmAndamento_NaoDeveRegravarDocumento() {
+        when(apuracaoRepository.findById("p1")).thenReturn(Mono.just(new Apuracao("p1", 3, 2)));
+
+        StepVerifier.create(apuracaoService.reabrir("p1"))
+            .verifyComplete();
+
+        verify(apuracaoRepository, never()).save(any(Apuracao.class));
+    }
+
+    private Voto novoVoto(String pautaId, VotoOpcao opcao) {
+        Voto voto = new Voto();
+        voto.setPautaId(pautaId);
+        voto.setAssociadoId("assoc");
+        voto.setOpcaoVoto(opcao);
+        return voto;
+    }
+}
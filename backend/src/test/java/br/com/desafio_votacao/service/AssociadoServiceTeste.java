@@ -1,20 +1,35 @@
 package br.com.desafio_votacao.service;
 
+import br.com.desafio_votacao.cache.AssociadoCache;
+import br.com.desafio_votacao.cache.ContagemEstimadaCache;
 import br.com.desafio_votacao.client.CpfValidator;
 import br.com.desafio_votacao.dto.AssociadoDTO;
 import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
 import br.com.desafio_votacao.repository.AssociadoRepository;
+import br.com.desafio_votacao.repository.AssociadoRepositoryCustom.MigracaoCpfs;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AssociadoServiceTest {
@@ -25,6 +40,12 @@ class AssociadoServiceTest {
     @Mock
     private CpfValidator cpfValidator;
 
+    @Mock
+    private AssociadoCache associadoCache;
+
+    @Mock
+    private ContagemEstimadaCache contagemEstimadaCache;
+
     @InjectMocks
     private AssociadoService associadoService;
 
@@ -35,37 +56,86 @@ class AssociadoServiceTest {
 
     @Test
     void listarTodosAssociadosPaginado_DeveRetornarAssociadosPaginados() {
-        Associado associado1 = new Associado("12345678901");
+        Associado associado1 = new Associado(Cpf.of("12345678909"));
         associado1.setId("1");
-        Associado associado2 = new Associado("10987654321");
+        Associado associado2 = new Associado(Cpf.of("98765432100"));
         associado2.setId("2");
 
-        when(associadoRepository.count()).thenReturn(Mono.just(2L));
-        when(associadoRepository.findAll()).thenReturn(Flux.just(associado1, associado2));
+        when(contagemEstimadaCache.contar(Associado.class)).thenReturn(Mono.just(2L));
+        when(associadoRepository.findAllBy(any(Pageable.class))).thenReturn(Flux.just(associado1, associado2));
 
-        StepVerifier.create(associadoService.listarTodosAssociadosPaginado(0, 10))
+        StepVerifier.create(associadoService.listarTodosAssociadosPaginado(0, 10, null, false))
             .assertNext(page -> {
                 assertEquals(0, page.page());
                 assertEquals(10, page.size());
                 assertEquals(2L, page.totalElements());
                 assertTrue(page.content().contains(associado1));
                 assertTrue(page.content().contains(associado2));
+                assertNull(page.nextCursor());
+            })
+            .verifyComplete();
+
+        verify(associadoRepository, never()).count();
+        verify(associadoRepository, never()).findAll();
+    }
+
+    @Test
+    void listarTodosAssociadosPaginado_QuandoFiltradoPorAtivoComContagemExata_DeveContarFiltrados() {
+        Associado associado = new Associado(Cpf.of("12345678909"));
+        associado.setId("1");
+
+        when(associadoRepository.findByAtivo(eq(true), any(Pageable.class))).thenReturn(Flux.just(associado));
+        when(associadoRepository.countByAtivo(true)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(associadoService.listarTodosAssociadosPaginado(0, 1, true, true))
+            .assertNext(page -> {
+                assertEquals(1L, page.totalElements());
+                assertEquals("1", page.nextCursor());
+            })
+            .verifyComplete();
+
+        verify(contagemEstimadaCache, never()).contar(any(), any());
+    }
+
+    @Test
+    void listarAssociadosAposCursor_DeveBuscarAPartirDoCursor() {
+        String after = "65a1b2c3d4e5f60718293a4b";
+        Associado associado = new Associado(Cpf.of("12345678909"));
+        associado.setId("65a1b2c3d4e5f60718293a4c");
+
+        when(associadoRepository.buscarApos(false, after, 10)).thenReturn(Flux.just(associado));
+        when(contagemEstimadaCache.contar(eq(Associado.class), any(Criteria.class))).thenReturn(Mono.just(11L));
+
+        StepVerifier.create(associadoService.listarAssociadosAposCursor(after, 10, false, false))
+            .assertNext(page -> {
+                assertEquals(1, page.content().size());
+                assertEquals(11L, page.totalElements());
+                assertNull(page.nextCursor());
             })
             .verifyComplete();
     }
 
+    @Test
+    void listarAssociadosAposCursor_QuandoCursorInvalido_DeveRetornarErro() {
+        StepVerifier.create(associadoService.listarAssociadosAposCursor("abc", 10, null, false))
+            .expectError(ResponseStatusException.class)
+            .verify();
+
+        verify(associadoRepository, never()).buscarApos(any(), any(), anyInt());
+    }
+
     @Test
     void criarAssociado_ComCpfValido_DeveSalvarAssociado() {
         AssociadoDTO dto = new AssociadoDTO();
         dto.setCpf("58086250172");
         
-        when(associadoRepository.existsByCpf(dto.getCpf())).thenReturn(Mono.just(false));
+        when(associadoRepository.existsByCpf(Cpf.of(dto.getCpf()))).thenReturn(Mono.just(false));
         when(associadoRepository.save(any(Associado.class)))
             .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         StepVerifier.create(associadoService.criarAssociado(dto))
             .assertNext(associado -> {
-                assertEquals(dto.getCpf(), associado.getCpf());
+                assertEquals(dto.getCpf(), associado.getCpf().toString());
             })
             .verifyComplete();
 
@@ -87,4 +157,102 @@ class AssociadoServiceTest {
         verify(associadoRepository, never()).save(any());
     }
 
+    @Test
+    void buscarAssociadoPorId_DeveConsultarCache() {
+        Associado associado = new Associado(Cpf.of("58086250172"));
+        associado.setId("1");
+
+        when(associadoCache.buscarPorId("1")).thenReturn(Mono.just(associado));
+
+        StepVerifier.create(associadoService.buscarAssociadoPorId("1"))
+            .expectNext(associado)
+            .verifyComplete();
+
+        verify(associadoRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void alterarStatusAssociado_DeveInvalidarCache() {
+        Associado associado = new Associado(Cpf.of("58086250172"));
+        associado.setId("1");
+
+        when(associadoRepository.findById("1")).thenReturn(Mono.just(associado));
+        when(associadoRepository.save(any(Associado.class)))
+            .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(associadoService.alterarStatusAssociado("1", false))
+            .assertNext(salvo -> assertFalse(salvo.getAtivo()))
+            .verifyComplete();
+
+        verify(associadoCache).invalidar("1", Cpf.of("58086250172"));
+    }
+
+    @Test
+    void importarAssociados_DeveCadastrarAusentesEReportarErrosPorLinha() {
+        // Linhas: válido novo, inválido, repetido na importação, válido já cadastrado
+        Flux<String> cpfs = Flux.just("12345678909", "11111111111", "12345678909", "98765432100");
+
+        when(associadoRepository.cadastrarSeAusentes(List.of(Cpf.of("12345678909"), Cpf.of("98765432100"))))
+            .thenReturn(Mono.just(Set.of(0)));
+
+        StepVerifier.create(associadoService.importarAssociados(cpfs))
+            .assertNext(erro -> {
+                assertEquals("ERRO", erro.tipo());
+                assertEquals(1L, erro.linha());
+                assertEquals(400, erro.status());
+            })
+            .assertNext(erro -> {
+                assertEquals(2L, erro.linha());
+                assertEquals(409, erro.status());
+                assertEquals("CPF repetido na importação", erro.mensagem());
+            })
+            .assertNext(erro -> {
+                assertEquals(3L, erro.linha());
+                assertEquals(409, erro.status());
+                assertEquals("Já existe um associado com este CPF", erro.mensagem());
+            })
+            .assertNext(progresso -> {
+                assertEquals("PROGRESSO", progresso.tipo());
+                assertEquals(4L, progresso.processados());
+            })
+            .assertNext(concluido -> {
+                assertEquals("CONCLUIDO", concluido.tipo());
+                assertEquals(4L, concluido.processados());
+                assertEquals(1L, concluido.cadastrados());
+                assertEquals(1L, concluido.existentes());
+                assertEquals(2L, concluido.rejeitados());
+            })
+            .verifyComplete();
+
+        verify(associadoRepository, never()).existsByCpf(any());
+        verify(associadoRepository, never()).save(any(Associado.class));
+    }
+
+    @Test
+    void importarAssociadosCsv_DeveIgnorarCabecalhoELinhasEmBranco() {
+        Flux<String> linhas = Flux.just("cpf,nome", "\"12345678909\",Fulano", "", "11144477735;Beltrano");
+
+        when(associadoRepository.cadastrarSeAusentes(List.of(Cpf.of("12345678909"), Cpf.of("11144477735"))))
+            .thenReturn(Mono.just(Set.of(0, 1)));
+
+        StepVerifier.create(associadoService.importarAssociadosCsv(linhas))
+            .assertNext(progresso -> assertEquals("PROGRESSO", progresso.tipo()))
+            .assertNext(concluido -> {
+                assertEquals(2L, concluido.processados());
+                assertEquals(2L, concluido.cadastrados());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void migrarCpfsTexto_QuandoConflitoSurgeDuranteConversao_DeveExecutarNovamente() {
+        AtomicInteger execucoes = new AtomicInteger();
+        when(associadoRepository.migrarCpfsTexto()).thenReturn(Mono.defer(() -> execucoes.incrementAndGet() == 1
+            ? Mono.error(new DuplicateKeyException("CPF convertido já cadastrado"))
+            : Mono.just(new MigracaoCpfs(2, List.of("3")))));
+
+        associadoService.migrarCpfsTexto();
+
+        assertEquals(2, execucoes.get());
+    }
 }
@@ -1,22 +1,39 @@
 package br.com.desafio_votacao.service;
 
+import br.com.desafio_votacao.cache.ContagemEstimadaCache;
+import br.com.desafio_votacao.cache.SessaoRegistry;
+import br.com.desafio_votacao.cache.VotantesRegistry;
 import br.com.desafio_votacao.dto.PautaDTO;
+import br.com.desafio_votacao.model.Apuracao;
 import br.com.desafio_votacao.model.Pauta;
 import br.com.desafio_votacao.repository.PautaRepository;
+import br.com.desafio_votacao.scheduler.SessaoTimerWheel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class PautaServiceTest {
@@ -24,6 +41,21 @@ class PautaServiceTest {
     @Mock
     private PautaRepository pautaRepository;
 
+    @Mock
+    private SessaoRegistry sessaoRegistry;
+
+    @Mock
+    private VotantesRegistry votantesRegistry;
+
+    @Mock
+    private ApuracaoService apuracaoService;
+
+    @Mock
+    private SessaoTimerWheel sessaoTimerWheel;
+
+    @Mock
+    private ContagemEstimadaCache contagemEstimadaCache;
+
     @InjectMocks
     private PautaService pautaService;
 
@@ -42,8 +74,8 @@ class PautaServiceTest {
         pauta2.setId("2");
         pauta2.setTitulo("Pauta 2");
 
-        when(pautaRepository.count()).thenReturn(Mono.just(2L));
-        when(pautaRepository.findAll()).thenReturn(Flux.just(pauta1, pauta2));
+        when(contagemEstimadaCache.contar(Pauta.class)).thenReturn(Mono.just(2L));
+        when(pautaRepository.findAllBy(any(Pageable.class))).thenReturn(Flux.just(pauta1, pauta2));
 
         StepVerifier.create(pautaService.listarPautasPaginadas(0, 10))
             .assertNext(page -> {
@@ -53,10 +85,49 @@ class PautaServiceTest {
                 assertEquals(2, page.content().size());
                 assertTrue(page.content().contains(pauta1));
                 assertTrue(page.content().contains(pauta2));
+                assertNull(page.nextCursor());
+            })
+            .verifyComplete();
+
+        verify(pautaRepository).findAllBy(PageRequest.of(0, 10, Sort.by("dataCriacao", "_id")));
+        verify(pautaRepository, never()).findAll();
+    }
+
+    @Test
+    void listarPautasAposCursor_DeveBuscarAPartirDaUltimaPauta() {
+        Pauta ultima = new Pauta();
+        ultima.setId("1");
+
+        Pauta pauta2 = new Pauta();
+        pauta2.setId("2");
+
+        Pauta pauta3 = new Pauta();
+        pauta3.setId("3");
+
+        when(contagemEstimadaCache.contar(Pauta.class)).thenReturn(Mono.just(3L));
+        when(pautaRepository.findById("1")).thenReturn(Mono.just(ultima));
+        when(pautaRepository.buscarApos(ultima, 2)).thenReturn(Flux.just(pauta2, pauta3));
+
+        StepVerifier.create(pautaService.listarPautasAposCursor("1", 2))
+            .assertNext(page -> {
+                assertEquals(List.of(pauta2, pauta3), page.content());
+                assertEquals(3L, page.totalElements());
+                assertEquals("3", page.nextCursor());
             })
             .verifyComplete();
     }
 
+    @Test
+    void listarPautasAposCursor_QuandoCursorNaoExiste_DeveRetornarErro() {
+        when(contagemEstimadaCache.contar(Pauta.class)).thenReturn(Mono.just(3L));
+        when(pautaRepository.findById("naoExiste")).thenReturn(Mono.empty());
+
+        StepVerifier.create(pautaService.listarPautasAposCursor("naoExiste", 2))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException
+                && ((ResponseStatusException) ex).getStatusCode() == HttpStatus.BAD_REQUEST)
+            .verify();
+    }
+
 
     @Test
     void buscarPautaPorId_QuandoPautaExiste_DeveRetornarPauta() {
@@ -110,11 +181,6 @@ class PautaServiceTest {
         String pautaId = "1";
         Integer duracao = 5;
         
-        Pauta pautaExistente = new Pauta();
-        pautaExistente.setId(pautaId);
-        pautaExistente.setTitulo("Pauta Existente");
-        pautaExistente.setSessaoAberta(false);
-        
         Pauta pautaComSessaoAberta = new Pauta();
         pautaComSessaoAberta.setId(pautaId);
         pautaComSessaoAberta.setTitulo("Pauta Existente");
@@ -122,8 +188,10 @@ class PautaServiceTest {
         pautaComSessaoAberta.setInicioSessao(LocalDateTime.now());
         pautaComSessaoAberta.setFimSessao(LocalDateTime.now().plusMinutes(duracao));
         
-        when(pautaRepository.findById(pautaId)).thenReturn(Mono.just(pautaExistente));
-        when(pautaRepository.save(any(Pauta.class))).thenReturn(Mono.just(pautaComSessaoAberta));
+        when(pautaRepository.abrirSessao(eq(pautaId), any(LocalDateTime.class), any(LocalDateTime.class)))
+            .thenReturn(Mono.just(pautaComSessaoAberta));
+        when(votantesRegistry.carregar(pautaId)).thenReturn(Mono.just(0L));
+        when(apuracaoService.reabrir(pautaId)).thenReturn(Mono.empty());
         
         StepVerifier.create(pautaService.abrirSessaoVotacao(pautaId, duracao))
             .expectNextMatches(pauta -> 
@@ -132,6 +200,43 @@ class PautaServiceTest {
                 pauta.getInicioSessao() != null &&
                 pauta.getFimSessao() != null)
             .verifyComplete();
+
+        verify(sessaoRegistry).registrar(pautaId, pautaComSessaoAberta.getFimSessao());
+        verify(sessaoTimerWheel).agendar(eq(pautaId), eq(pautaComSessaoAberta.getFimSessao()), any(Runnable.class));
+    }
+
+    @Test
+    void abrirSessaoVotacao_QuandoSessaoJaAberta_DeveRetornarErro() {
+        String pautaId = "1";
+        
+        Pauta pautaComSessaoAberta = new Pauta();
+        pautaComSessaoAberta.setId(pautaId);
+        pautaComSessaoAberta.setSessaoAberta(true);
+        pautaComSessaoAberta.setFimSessao(LocalDateTime.now().plusMinutes(5));
+        
+        when(pautaRepository.abrirSessao(eq(pautaId), any(LocalDateTime.class), any(LocalDateTime.class)))
+            .thenReturn(Mono.empty());
+        when(pautaRepository.findById(pautaId)).thenReturn(Mono.just(pautaComSessaoAberta));
+        
+        StepVerifier.create(pautaService.abrirSessaoVotacao(pautaId, 5))
+            .expectErrorMessage("Sessão de votação já está aberta para esta pauta")
+            .verify();
+
+        verify(pautaRepository, never()).save(any(Pauta.class));
+        verify(sessaoTimerWheel, never()).agendar(anyString(), any(LocalDateTime.class), any(Runnable.class));
+    }
+
+    @Test
+    void verificarSessaoAberta_QuandoSessaoRegistradaEmMemoria_NaoDeveConsultarRepositorio() {
+        String pautaId = "1";
+        
+        when(sessaoRegistry.buscarFimSessao(pautaId)).thenReturn(LocalDateTime.now().plusMinutes(1));
+        
+        StepVerifier.create(pautaService.verificarSessaoAberta(pautaId))
+            .expectNext(true)
+            .verifyComplete();
+
+        verify(pautaRepository, never()).findById(anyString());
     }
 
     @Test
@@ -145,6 +250,7 @@ class PautaServiceTest {
         pautaComSessaoAberta.setFimSessao(LocalDateTime.now().plusMinutes(4));
         
         when(pautaRepository.findById(pautaId)).thenReturn(Mono.just(pautaComSessaoAberta));
+        when(votantesRegistry.carregarSeAusente(pautaId)).thenReturn(Mono.just(0L));
         
         StepVerifier.create(pautaService.verificarSessaoAberta(pautaId))
             .expectNext(true)
@@ -167,4 +273,93 @@ class PautaServiceTest {
             .expectNext(false)
             .verifyComplete();
     }
+
+    @Test
+    void fecharSessoesExpiradas_DeveFecharSessaoECongelarResultado() {
+        String pautaId = "1";
+        
+        Pauta pautaExpirada = new Pauta();
+        pautaExpirada.setId(pautaId);
+        pautaExpirada.setSessaoAberta(true);
+        pautaExpirada.setFimSessao(LocalDateTime.now().minusMinutes(1));
+        
+        pautaExpirada.setSessaoAberta(false);
+        
+        // A primeira chamada fecha a pauta; a seguinte não encontra mais sessões expiradas
+        when(pautaRepository.fecharProximaSessaoExpirada(any(LocalDateTime.class), eq(7L)))
+            .thenReturn(Mono.just(pautaExpirada))
+            .thenReturn(Mono.empty());
+        when(apuracaoService.encerrar(pautaId)).thenReturn(Mono.just(new Apuracao(pautaId, 3, 2)));
+        
+        StepVerifier.create(pautaService.fecharSessoesExpiradas(7L))
+            .expectNext(1L)
+            .verifyComplete();
+
+        verify(pautaRepository, times(2)).fecharProximaSessaoExpirada(any(LocalDateTime.class), eq(7L));
+        verify(pautaRepository, never()).save(any(Pauta.class));
+        verify(sessaoRegistry).remover(pautaId);
+        verify(sessaoTimerWheel).cancelar(pautaId);
+        verify(apuracaoService).encerrar(pautaId);
+    }
+
+    @Test
+    void fecharSessao_QuandoPrazoAtingido_DeveFecharSessao() {
+        String pautaId = "1";
+        
+        Pauta pauta = new Pauta();
+        pauta.setId(pautaId);
+        pauta.setSessaoAberta(false);
+        pauta.setFimSessao(LocalDateTime.now().minusSeconds(1));
+        
+        when(pautaRepository.fecharSessaoExpirada(eq(pautaId), any(LocalDateTime.class))).thenReturn(Mono.just(pauta));
+        when(apuracaoService.encerrar(pautaId)).thenReturn(Mono.just(new Apuracao(pautaId, 0, 0)));
+        
+        StepVerifier.create(pautaService.fecharSessao(pautaId))
+            .verifyComplete();
+
+        verify(sessaoRegistry).remover(pautaId);
+        verify(apuracaoService).encerrar(pautaId);
+        verify(pautaRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void fecharSessao_QuandoSessaoJaFechada_NaoDeveAlterarPauta() {
+        String pautaId = "1";
+        
+        Pauta pauta = new Pauta();
+        pauta.setId(pautaId);
+        pauta.setSessaoAberta(false);
+        pauta.setFimSessao(LocalDateTime.now().minusSeconds(1));
+        
+        // Já fechada por outra instância: o fechamento condicional não encontra a sessão
+        when(pautaRepository.fecharSessaoExpirada(eq(pautaId), any(LocalDateTime.class))).thenReturn(Mono.empty());
+        when(pautaRepository.findById(pautaId)).thenReturn(Mono.just(pauta));
+        
+        StepVerifier.create(pautaService.fecharSessao(pautaId))
+            .verifyComplete();
+
+        verify(pautaRepository, never()).save(any(Pauta.class));
+        verify(apuracaoService, never()).encerrar(anyString());
+        verify(apuracaoService).remover(pautaId);
+        verify(sessaoRegistry).remover(pautaId);
+    }
+
+    @Test
+    void fecharSessao_QuandoDisparadoAntesDoPrazo_DeveReagendar() {
+        String pautaId = "1";
+        
+        Pauta pauta = new Pauta();
+        pauta.setId(pautaId);
+        pauta.setSessaoAberta(true);
+        pauta.setFimSessao(LocalDateTime.now().plusMinutes(1));
+        
+        when(pautaRepository.fecharSessaoExpirada(eq(pautaId), any(LocalDateTime.class))).thenReturn(Mono.empty());
+        when(pautaRepository.findById(pautaId)).thenReturn(Mono.just(pauta));
+        
+        StepVerifier.create(pautaService.fecharSessao(pautaId))
+            .verifyComplete();
+
+        verify(pautaRepository, never()).save(any(Pauta.class));
+        verify(sessaoTimerWheel).agendar(eq(pautaId), eq(pauta.getFimSessao()), any(Runnable.class));
+    }
 }
@@ -0,0 +1,82 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.dto.ResultadoAtualizacaoDTO;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ResultadoNotificadorTest {
+
+    private final ResultadoNotificador notificador = new ResultadoNotificador(20);
+
+    @Test
+    void acompanhar_DeveCompartilharUmaTransmissaoEEnviarApenasAlteracoes() {
+        // Estado compartilhado, alterado por votos aceitos em qualquer instância
+        AtomicInteger total = new AtomicInteger();
+        Supplier<Mono<ResultadoAtualizacaoDTO>> consulta = () -> Mono.fromSupplier(
+            () -> new ResultadoAtualizacaoDTO(Map.of("total", (long) total.get()), false));
+
+        StepVerifier.create(notificador.acompanhar("p1", consulta).take(3))
+            .assertNext(atualizacao -> assertEquals(0L, atualizacao.resultado().get("total")))
+            .then(() -> {
+                // Segundo assinante da mesma pauta reutiliza a transmissão
+                notificador.acompanhar("p1", consulta).take(1).subscribe();
+                assertEquals(1, notificador.transmissoesAtivas());
+                total.set(100);
+            })
+            .assertNext(atualizacao -> {
+                assertEquals(100L, atualizacao.resultado().get("total"));
+                assertFalse(atualizacao.encerrada());
+            })
+            .then(() -> total.set(150))
+            // Leituras sem alteração não são reenviadas
+            .assertNext(atualizacao -> assertEquals(150L, atualizacao.resultado().get("total")))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void acompanhar_QuandoApuracaoCongeladaPorOutraInstancia_DeveEnviarResultadoFinalEConcluirStream() {
+        AtomicBoolean congelada = new AtomicBoolean();
+        Supplier<Mono<ResultadoAtualizacaoDTO>> consulta = () -> Mono.fromSupplier(
+            () -> new ResultadoAtualizacaoDTO(Map.of("total", 7L), congelada.get()));
+
+        StepVerifier.create(notificador.acompanhar("p1", consulta))
+            .expectNextMatches(atualizacao -> !atualizacao.encerrada())
+            .then(() -> congelada.set(true))
+            .expectNextMatches(ResultadoAtualizacaoDTO::encerrada)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertEquals(0, notificador.transmissoesAtivas());
+    }
+
+    @Test
+    void encerrar_DeveEnviarResultadoFinalEConcluirStream() {
+        StepVerifier.create(notificador.acompanhar("p1",
+                () -> Mono.just(new ResultadoAtualizacaoDTO(Map.of("total", 7L), false))))
+            .expectNextMatches(atualizacao -> !atualizacao.encerrada())
+            .then(() -> notificador.encerrar("p1"))
+            .expectNextMatches(ResultadoAtualizacaoDTO::encerrada)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertEquals(0, notificador.transmissoesAtivas());
+    }
+
+    @Test
+    void encerrar_QuandoNinguemAcompanha_NaoDeveCriarTransmissao() {
+        notificador.encerrar("p1");
+
+        assertEquals(0, notificador.transmissoesAtivas());
+    }
+}
@@ -1,25 +1,43 @@
 package br.com.desafio_votacao.service;
 
+import br.com.desafio_votacao.cache.VotantesRegistry;
 import br.com.desafio_votacao.client.CpfValidator;
+import br.com.desafio_votacao.dto.ResultadoAtualizacaoDTO;
 import br.com.desafio_votacao.dto.VotoDTO;
 import br.com.desafio_votacao.enums.VotoOpcao;
 import br.com.desafio_votacao.model.Associado;
+import br.com.desafio_votacao.model.Cpf;
+import br.com.desafio_votacao.model.Pauta;
 import br.com.desafio_votacao.model.Voto;
 import br.com.desafio_votacao.repository.VotoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class VotoServiceTest {
@@ -36,12 +54,27 @@ class VotoServiceTest {
     @Mock
     private AssociadoService associadoService;
 
+    @Mock
+    private VotoWriteBehindBuffer votoWriteBehindBuffer;
+
+    @Mock
+    private VotantesRegistry votantesRegistry;
+
+    @Mock
+    private ApuracaoService apuracaoService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private VotoMetricas votoMetricas = new VotoMetricas(meterRegistry);
+
     @InjectMocks
     private VotoService votoService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(apuracaoService.contabilizar(any())).thenReturn(Mono.empty());
     }
 
     @Test
@@ -55,7 +88,7 @@ class VotoServiceTest {
         
         Associado associado = new Associado();
         associado.setId(associadoId);
-        associado.setCpf("12345678901");
+        associado.setCpf(Cpf.of("12345678909"));
         associado.setAtivo(true);
         
         CpfValidator.CpfStatus statusOk = new CpfValidator.CpfStatus("ABLE_TO_VOTE");
@@ -63,7 +96,6 @@ class VotoServiceTest {
         when(associadoService.buscarAssociadoPorId(votoDTO.getAssociadoId())).thenReturn(Mono.just(associado));
         when(cpfValidator.validarCpf(associado.getCpf())).thenReturn(Mono.just(statusOk));
         when(pautaService.verificarSessaoAberta(pautaId)).thenReturn(Mono.just(true));
-        when(votoRepository.existsByPautaIdAndAssociadoId(pautaId, associado.getId())).thenReturn(Mono.just(false));
         
         Voto votoSalvo = new Voto();
         votoSalvo.setId("123");
@@ -81,6 +113,10 @@ class VotoServiceTest {
                 voto.getAssociadoId().equals(associado.getId()) &&
                 voto.getOpcaoVoto().equals(votoDTO.getVoto()))
             .verifyComplete();
+
+        verify(votantesRegistry).registrar(pautaId, associadoId);
+        assertEquals(1.0, meterRegistry.get("votacao.voto.resultado").tag("resultado", "aceito").counter().count());
+        assertEquals(1L, meterRegistry.get("votacao.voto.etapa").tag("etapa", "gravacao").tag("status", "concluida").timer().count());
     }
 
     @Test
@@ -93,18 +129,21 @@ class VotoServiceTest {
         
         Associado associado = new Associado();
         associado.setId("assoc123");
-        associado.setCpf("12345678901");
+        associado.setCpf(Cpf.of("12345678909"));
         associado.setAtivo(true);
         
         CpfValidator.CpfStatus statusNaoOk = new CpfValidator.CpfStatus("UNABLE_TO_VOTE");
         
         when(associadoService.buscarAssociadoPorId(votoDTO.getAssociadoId())).thenReturn(Mono.just(associado));
         when(cpfValidator.validarCpf(associado.getCpf())).thenReturn(Mono.just(statusNaoOk));
+        when(pautaService.verificarSessaoAberta(pautaId)).thenReturn(Mono.just(true));
         
         // Act & Assert
         StepVerifier.create(votoService.registrarVoto(pautaId, votoDTO))
             .expectError()
             .verify();
+
+        assertEquals(1.0, meterRegistry.get("votacao.voto.resultado").tag("resultado", "cpf-inapto").counter().count());
     }
 
     @Test
@@ -117,7 +156,7 @@ class VotoServiceTest {
         
         Associado associado = new Associado();
         associado.setId("assoc123");
-        associado.setCpf("12345678901");
+        associado.setCpf(Cpf.of("12345678909"));
         associado.setAtivo(true);
         
         CpfValidator.CpfStatus statusOk = new CpfValidator.CpfStatus("ABLE_TO_VOTE");
@@ -132,6 +171,24 @@ class VotoServiceTest {
             .verify();
     }
 
+    @Test
+    void registrarVoto_QuandoAssociadoNaoExiste_DeveRegistrarEtapaDaSessaoComoCancelada() {
+        VotoDTO votoDTO = new VotoDTO("inexistente", VotoOpcao.SIM);
+
+        when(associadoService.buscarAssociadoPorId("inexistente")).thenReturn(Mono.empty());
+        when(pautaService.verificarSessaoAberta("1")).thenReturn(Mono.never());
+
+        StepVerifier.create(votoService.registrarVoto("1", votoDTO))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException responseStatus
+                && responseStatus.getStatusCode() == HttpStatus.NOT_FOUND)
+            .verify(Duration.ofSeconds(1));
+
+        assertEquals(1L, meterRegistry.get("votacao.voto.etapa")
+            .tag("etapa", "associado").tag("status", "concluida").timer().count());
+        assertEquals(1L, meterRegistry.get("votacao.voto.etapa")
+            .tag("etapa", "sessao").tag("status", "cancelada").timer().count());
+    }
+
     @Test
     void registrarVoto_QuandoAssociadoJaVotou_DeveRetornarErro() {
         // Arrange
@@ -143,7 +200,7 @@ class VotoServiceTest {
         
         Associado associado = new Associado();
         associado.setId(associadoId);
-        associado.setCpf("12345678901");
+        associado.setCpf(Cpf.of("12345678909"));
         associado.setAtivo(true);
         
         CpfValidator.CpfStatus statusOk = new CpfValidator.CpfStatus("ABLE_TO_VOTE");
@@ -151,14 +208,124 @@ class VotoServiceTest {
         when(associadoService.buscarAssociadoPorId(votoDTO.getAssociadoId())).thenReturn(Mono.just(associado));
         when(cpfValidator.validarCpf(associado.getCpf())).thenReturn(Mono.just(statusOk));
         when(pautaService.verificarSessaoAberta(pautaId)).thenReturn(Mono.just(true));
-        when(votoRepository.existsByPautaIdAndAssociadoId(pautaId, associado.getId())).thenReturn(Mono.just(true));
+        when(votoRepository.save(any(Voto.class)))
+            .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
         
         // Act & Assert
         StepVerifier.create(votoService.registrarVoto(pautaId, votoDTO))
-            .expectError()
+            .expectErrorSatisfies(throwable -> {
+                assertTrue(throwable instanceof ResponseStatusException);
+                assertEquals(HttpStatus.CONFLICT, ((ResponseStatusException) throwable).getStatusCode());
+            })
             .verify();
     }
 
+    @Test
+    void registrarVoto_QuandoAssociadoJaVotouEmMemoria_DeveRejeitarSemConsultas() {
+        // Arrange
+        String pautaId = "1";
+        VotoDTO votoDTO = new VotoDTO("assoc123", VotoOpcao.SIM);
+        
+        when(votantesRegistry.jaVotou(pautaId, "assoc123")).thenReturn(true);
+        
+        // Act & Assert
+        StepVerifier.create(votoService.registrarVoto(pautaId, votoDTO))
+            .expectErrorSatisfies(throwable -> {
+                assertTrue(throwable instanceof ResponseStatusException);
+                assertEquals(HttpStatus.CONFLICT, ((ResponseStatusException) throwable).getStatusCode());
+            })
+            .verify();
+
+        verify(associadoService, never()).buscarAssociadoPorId(any());
+        verify(pautaService, never()).verificarSessaoAberta(any());
+        verify(votoRepository, never()).save(any());
+    }
+
+    @Test
+    void registrarVoto_QuandoAssociadoInativo_NaoDeveConsultarCpf() {
+        // Arrange
+        String pautaId = "1";
+        VotoDTO votoDTO = new VotoDTO();
+        votoDTO.setAssociadoId("assoc123");
+        votoDTO.setVoto(VotoOpcao.SIM);
+        
+        Associado associado = new Associado();
+        associado.setId("assoc123");
+        associado.setCpf(Cpf.of("12345678909"));
+        associado.setAtivo(false);
+        
+        when(associadoService.buscarAssociadoPorId(votoDTO.getAssociadoId())).thenReturn(Mono.just(associado));
+        when(pautaService.verificarSessaoAberta(pautaId)).thenReturn(Mono.just(true));
+        
+        // Act & Assert
+        StepVerifier.create(votoService.registrarVoto(pautaId, votoDTO))
+            .expectErrorSatisfies(throwable -> {
+                assertTrue(throwable instanceof ResponseStatusException);
+                assertEquals(HttpStatus.FORBIDDEN, ((ResponseStatusException) throwable).getStatusCode());
+            })
+            .verify();
+
+        verify(cpfValidator, never()).validarCpf(any());
+        verify(votoRepository, never()).save(any());
+    }
+
+    @Test
+    void registrarVotosEmLote_DeveRetornarResultadoPorItem() {
+        // Arrange
+        String pautaId = "1";
+
+        Associado ativo = new Associado();
+        ativo.setId("assoc1");
+        ativo.setCpf(Cpf.of("12345678909"));
+        ativo.setAtivo(true);
+
+        Associado jaVotou = new Associado();
+        jaVotou.setId("assoc2");
+        jaVotou.setCpf(Cpf.of("98765432100"));
+        jaVotou.setAtivo(true);
+
+        Associado inativo = new Associado();
+        inativo.setId("assoc3");
+        inativo.setCpf(Cpf.of("11144477735"));
+        inativo.setAtivo(false);
+
+        CpfValidator.CpfStatus statusOk = new CpfValidator.CpfStatus("ABLE_TO_VOTE");
+
+        when(pautaService.verificarSessaoAberta(pautaId)).thenReturn(Mono.just(true));
+        when(associadoService.buscarAssociadoPorId("assoc1")).thenReturn(Mono.just(ativo));
+        when(associadoService.buscarAssociadoPorId("assoc2")).thenReturn(Mono.just(jaVotou));
+        when(associadoService.buscarAssociadoPorId("assoc3")).thenReturn(Mono.just(inativo));
+        when(cpfValidator.validarCpf(any())).thenReturn(Mono.just(statusOk));
+        // O segundo voto aceito (assoc2) é rejeitado pelo índice único
+        when(votoRepository.inserirEmLote(any())).thenAnswer(invocation -> {
+            List<Voto> votos = invocation.getArgument(0);
+            votos.forEach(voto -> voto.setId("id-" + voto.getAssociadoId()));
+            return Mono.just(Set.of(1));
+        });
+
+        Flux<VotoDTO> votos = Flux.just(
+            new VotoDTO("assoc1", VotoOpcao.SIM),
+            new VotoDTO("assoc2", VotoOpcao.NAO),
+            new VotoDTO("assoc3", VotoOpcao.SIM),
+            new VotoDTO("assoc4", null));
+
+        // Act & Assert
+        StepVerifier.create(votoService.registrarVotosEmLote(pautaId, votos))
+            .assertNext(resultado -> {
+                assertEquals(0, resultado.indice());
+                assertEquals(201, resultado.status());
+                assertEquals("id-assoc1", resultado.votoId());
+            })
+            .assertNext(resultado -> assertEquals(409, resultado.status()))
+            .assertNext(resultado -> assertEquals(403, resultado.status()))
+            .assertNext(resultado -> assertEquals(400, resultado.status()))
+            .verifyComplete();
+
+        // Apenas o voto efetivamente gravado entra na apuração
+        verify(apuracaoService).contabilizar(argThat(gravados -> 
+            gravados.size() == 1 && gravados.get(0).getAssociadoId().equals("assoc1")));
+    }
+
     @Test
     void listarVotosPorPauta_DeveRetornarTodosOsVotos() {
         // Arrange
@@ -190,14 +357,13 @@ class VotoServiceTest {
         // Arrange
         String pautaId = "1";
         
-        when(votoRepository.countByPautaIdAndOpcaoVoto(eq(pautaId), eq(VotoOpcao.SIM))).thenReturn(Mono.just(3L));
-        when(votoRepository.countByPautaIdAndOpcaoVoto(eq(pautaId), eq(VotoOpcao.NAO))).thenReturn(Mono.just(2L));
-        
         Map<String, Long> resultadoEsperado = new HashMap<>();
         resultadoEsperado.put("sim", 3L);
         resultadoEsperado.put("nao", 2L);
         resultadoEsperado.put("total", 5L);
         
+        when(apuracaoService.obterResultado(pautaId)).thenReturn(Mono.just(resultadoEsperado));
+        
         // Act & Assert
         StepVerifier.create(votoService.contabilizarVotosPorPauta(pautaId))
             .expectNextMatches(resultado -> 
@@ -205,5 +371,55 @@ class VotoServiceTest {
                 resultado.get("nao").equals(2L) &&
                 resultado.get("total").equals(5L))
             .verifyComplete();
+
+        verify(votoRepository, never()).countByPautaIdAndOpcaoVoto(any(), any());
+    }
+
+    @Test
+    void acompanharResultado_QuandoPautaNaoExiste_DeveRetornarNotFound() {
+        when(pautaService.buscarPautaPorId("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(votoService.acompanharResultado("1"))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException responseStatus
+                && responseStatus.getStatusCode() == HttpStatus.NOT_FOUND)
+            .verify();
+
+        verify(apuracaoService, never()).acompanharResultado(any());
+    }
+
+    @Test
+    void acompanharResultado_QuandoSessaoNaoEstaAberta_DeveEmitirResultadoFinalEConcluir() {
+        Pauta pauta = new Pauta();
+        pauta.setId("1");
+        Map<String, Long> resultado = Map.of("sim", 3L, "nao", 2L, "total", 5L);
+        when(pautaService.buscarPautaPorId("1")).thenReturn(Mono.just(pauta));
+        when(apuracaoService.obterResultadoFinal("1")).thenReturn(Mono.just(new ResultadoAtualizacaoDTO(resultado, true)));
+
+        StepVerifier.create(votoService.acompanharResultado("1"))
+            .assertNext(atualizacao -> {
+                assertTrue(atualizacao.encerrada());
+                assertEquals(5L, atualizacao.resultado().get("total"));
+            })
+            .verifyComplete();
+
+        verify(apuracaoService, never()).acompanharResultado(any());
+    }
+
+    @Test
+    void exportarVotosPorPauta_DeveRetomarAposCursorComLotesLimitados() {
+        Voto voto = new Voto();
+        voto.setAssociadoId("a2");
+        voto.setOpcaoVoto(VotoOpcao.NAO);
+        voto.setDataRegistro(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+
+        when(votoRepository.buscarParaExportacao("1", "a1", VotoService.TAMANHO_LOTE_EXPORTACAO))
+            .thenReturn(Flux.just(voto));
+
+        StepVerifier.create(votoService.exportarVotosPorPauta("1", "a1"))
+            .assertNext(exportado -> {
+                assertEquals("a2", exportado.associadoId());
+                assertEquals("a2,NAO,2026-01-02T03:04:05\n", exportado.paraLinhaCsv());
+            })
+            .verifyComplete();
     }
 }
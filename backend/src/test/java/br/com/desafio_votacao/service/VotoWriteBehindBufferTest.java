@@ -0,0 +1,133 @@
+package br.com.desafio_votacao.service;
+
+import br.com.desafio_votacao.enums.VotoOpcao;
+import br.com.desafio_votacao.model.Voto;
+import br.com.desafio_votacao.repository.VotoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VotoWriteBehindBufferTest {
+
+    @Mock
+    private VotoRepository votoRepository;
+
+    @Mock
+    private ApuracaoService apuracaoService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(apuracaoService.contabilizar(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void enfileirar_DeveAgruparVotosEmUmUnicoLote() {
+        when(votoRepository.inserirEmLote(any())).thenReturn(Mono.just(Set.of()));
+        VotoWriteBehindBuffer buffer = new VotoWriteBehindBuffer(
+            votoRepository, apuracaoService, meterRegistry, true, 3, Duration.ofSeconds(5), 64, 1);
+
+        Mono<List<Voto>> gravados = Mono.zip(
+                buffer.enfileirar(novoVoto("a1")),
+                buffer.enfileirar(novoVoto("a2")),
+                buffer.enfileirar(novoVoto("a3")))
+            .map(tuple -> List.of(tuple.getT1(), tuple.getT2(), tuple.getT3()));
+
+        StepVerifier.create(gravados)
+            .assertNext(votos -> assertEquals(3, votos.size()))
+            .verifyComplete();
+
+        verify(votoRepository, times(1)).inserirEmLote(any());
+        assertEquals(1L, meterRegistry.get("votacao.voto.buffer.gravacao").timer().count());
+        assertEquals(0.0, meterRegistry.get("votacao.voto.buffer.pendentes").gauge().value());
+    }
+
+    @Test
+    void enfileirar_QuandoLoteIncompleto_DeveGravarAposLatenciaMaxima() {
+        when(votoRepository.inserirEmLote(any())).thenReturn(Mono.just(Set.of()));
+        VotoWriteBehindBuffer buffer = new VotoWriteBehindBuffer(
+            votoRepository, apuracaoService, meterRegistry, true, 500, Duration.ofMillis(5), 64, 1);
+
+        StepVerifier.create(buffer.enfileirar(novoVoto("a1")))
+            .expectNextMatches(voto -> voto.getAssociadoId().equals("a1"))
+            .verifyComplete();
+    }
+
+    @Test
+    void enfileirar_QuandoVotoDuplicadoNoLote_DeveFalharApenasODuplicado() {
+        when(votoRepository.inserirEmLote(any())).thenReturn(Mono.just(Set.of(1)));
+        VotoWriteBehindBuffer buffer = new VotoWriteBehindBuffer(
+            votoRepository, apuracaoService, meterRegistry, true, 2, Duration.ofSeconds(5), 64, 1);
+
+        Mono<Voto> primeiro = buffer.enfileirar(novoVoto("a1"));
+        Mono<Voto> segundo = buffer.enfileirar(novoVoto("a1"));
+
+        StepVerifier.create(Mono.zipDelayError(primeiro, segundo))
+            .expectError(DuplicateKeyException.class)
+            .verify();
+    }
+
+    @Test
+    void enfileirar_ComProdutoresConcorrentes_DeveGravarTodosOsVotos() {
+        when(votoRepository.inserirEmLote(any())).thenReturn(Mono.just(Set.of()));
+        VotoWriteBehindBuffer buffer = new VotoWriteBehindBuffer(
+            votoRepository, apuracaoService, meterRegistry, true, 50, Duration.ofMillis(5), 1000, 2);
+
+        Mono<Long> gravados = Flux.range(0, 1000)
+            .parallel(8)
+            .runOn(Schedulers.parallel())
+            .flatMap(i -> buffer.enfileirar(novoVoto("a" + i)))
+            .sequential()
+            .count();
+
+        StepVerifier.create(gravados)
+            .expectNext(1000L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void enfileirar_QuandoCapacidadeAtingida_DeveRecusarCom503() {
+        when(votoRepository.inserirEmLote(any())).thenReturn(Mono.never());
+        VotoWriteBehindBuffer buffer = new VotoWriteBehindBuffer(
+            votoRepository, apuracaoService, meterRegistry, true, 500, Duration.ofSeconds(5), 2, 1);
+
+        buffer.enfileirar(novoVoto("a1")).subscribe();
+        buffer.enfileirar(novoVoto("a2")).subscribe();
+
+        StepVerifier.create(buffer.enfileirar(novoVoto("a3")))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException status
+                && status.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+            .verify();
+    }
+
+    private Voto novoVoto(String associadoId) {
+        Voto voto = new Voto();
+        voto.setPautaId("pauta1");
+        voto.setAssociadoId(associadoId);
+        voto.setOpcaoVoto(VotoOpcao.SIM);
+        return voto;
+    }
+}
@@ -5,7 +5,7 @@ import { PautaService } from '../../services/pauta.service';
 import { VotoService } from '../../services/voto.service';
 import { Pauta } from '../../models/pauta.model';
 import { ResultadoVotacao } from '../../models/voto.model';
-import { Subscription, switchMap, timer } from 'rxjs';
+import { Subscription } from 'rxjs';
 
 @Component({
   selector: 'app-pauta-detail',
@@ -19,7 +19,7 @@ export class PautaDetailComponent implements OnInit, OnDestroy {
   loading = false;
   loadingResultado = false;
   error: string | null = null;
-  private pollingSub!: Subscription;
+  private resultadoSub?: Subscription;
 
   constructor(
     private route: ActivatedRoute,
@@ -27,42 +27,48 @@ export class PautaDetailComponent implements OnInit, OnDestroy {
     private votoService: VotoService
   ) {}
 
-  polling(){
-    const pautaId = this.route.snapshot.paramMap.get('id') || '';
-
-    this.pollingSub = timer(0, 30000).pipe(
-      switchMap(() => {
-        console.log('⏰ Fazendo polling...');
-        return this.pautaService.verificarSessaoAberta(pautaId);
-      })
-    ).subscribe({
-      next: (res) => {
-        console.log('Resposta polling:', res);
-
-        if (this.pauta)
-          this.pauta.sessaoAberta = res;
-
-      },
-      error: err => {
-        console.error('Erro ao verificar status da sessão:', err);
-      }
-    });
-  }
-
-
   ngOnInit() {
     const pautaId = this.route.snapshot.paramMap.get('id');
     if (pautaId) {
       this.carregarPauta(pautaId);
-      this.carregarResultado();
     }
-    this.polling();
   }
 
   ngOnDestroy() {
-    if (this.pollingSub) {
-      this.pollingSub.unsubscribe();
-      console.log('✅ Polling parado ao sair do componente.');
+    this.pararAcompanhamento();
+  }
+
+  /**
+   * Acompanha o resultado via SSE enquanto a sessão está aberta; o servidor compartilha
+   * uma única transmissão entre todas as telas da mesma pauta.
+   */
+  acompanharResultado() {
+    if (!this.pauta) return;
+
+    this.pararAcompanhamento();
+    this.loadingResultado = true;
+
+    this.resultadoSub = this.votoService.acompanharResultado(this.pauta.id).subscribe({
+      next: (resultado) => {
+        this.resultado = resultado;
+        this.loadingResultado = false;
+      },
+      error: (err) => {
+        this.loadingResultado = false;
+        console.error('Erro no stream de resultados:', err);
+      },
+      complete: () => {
+        // Evento de encerramento: a sessão foi fechada e o resultado é final
+        if (this.pauta)
+          this.pauta.sessaoAberta = false;
+      }
+    });
+  }
+
+  private pararAcompanhamento() {
+    if (this.resultadoSub) {
+      this.resultadoSub.unsubscribe();
+      this.resultadoSub = undefined;
     }
   }
 
@@ -74,6 +80,12 @@ export class PautaDetailComponent implements OnInit, OnDestroy {
       next: (pauta) => {
         this.pauta = pauta;
         this.loading = false;
+
+        if (pauta.sessaoAberta) {
+          this.acompanharResultado();
+        } else {
+          this.carregarResultado();
+        }
       },
       error: (err) => {
         this.error = 'Erro ao carregar pauta';
@@ -127,6 +139,7 @@ export class PautaDetailComponent implements OnInit, OnDestroy {
       next: (pauta) => {
         this.pauta = pauta;
         this.loading = false;
+        this.acompanharResultado();
       },
       error: (err) => {
         this.error = 'Erro ao abrir sessão de votação';
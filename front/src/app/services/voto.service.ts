@@ -38,6 +38,35 @@ export class VotoService {
     return this.http.get<ResultadoVotacao>(`${this.baseUrl}/${pautaId}/votos/resultado`);
   }
 
+  /**
+   * Acompanha o resultado via Server-Sent Events. Emite o resultado atual e cada atualização;
+   * conclui quando o servidor envia o evento 'encerramento' (sessão fechada).
+   * Quedas de conexão são reconectadas automaticamente pelo EventSource.
+   */
+  acompanharResultado(pautaId: string): Observable<ResultadoVotacao> {
+    return new Observable<ResultadoVotacao>(subscriber => {
+      const eventSource = new EventSource(`${this.baseUrl}/${pautaId}/votos/resultado/stream`);
+
+      eventSource.addEventListener('resultado', (event: MessageEvent) => {
+        subscriber.next(JSON.parse(event.data));
+      });
+
+      eventSource.addEventListener('encerramento', (event: MessageEvent) => {
+        subscriber.next(JSON.parse(event.data));
+        eventSource.close();
+        subscriber.complete();
+      });
+
+      eventSource.onerror = (err) => {
+        if (eventSource.readyState === EventSource.CLOSED) {
+          subscriber.error(err);
+        }
+      };
+
+      return () => eventSource.close();
+    });
+  }
+
   // Método de teste para debug
   testarVotoComCurl(pautaId: string, associadoId: string, voto: string): Observable<any> {
     const url = `${this.baseUrl}/${pautaId}/votos`;